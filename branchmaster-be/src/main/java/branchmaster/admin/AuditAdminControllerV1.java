@@ -0,0 +1,68 @@
+package branchmaster.admin;
+
+import branchmaster.admin.mapper.AuditAdminV1Mapper;
+import branchmaster.admin.model.AuditLogPageResponse;
+import branchmaster.audit.AdminAuditQueryService;
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.model.AuditCursor;
+import branchmaster.audit.model.AuditLogPage;
+import branchmaster.audit.model.AuditLogQuery;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/admin/audit")
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class AuditAdminControllerV1 {
+
+  private final AdminAuditQueryService adminAuditQueryService;
+
+  /**
+   * Newest entries first. Pass the returned {@code nextCursor} as {@code cursor} for the next page;
+   * {@code paramPath} takes a jsonpath predicate, e.g. {@code $.after.branchId == 1}.
+   */
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<AuditLogPageResponse> getAuditLog(
+      @RequestParam(value = "staffId", required = false) Long staffId,
+      @RequestParam(value = "actionType", required = false) ActionType actionType,
+      @RequestParam(value = "from", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(value = "paramPath", required = false) String paramPath,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    AuditLogQuery query =
+        AuditLogQuery.builder()
+            .staffId(staffId)
+            .actionType(actionType)
+            .from(from)
+            .to(to)
+            .paramPath(paramPath == null || paramPath.isBlank() ? null : paramPath)
+            .cursor(cursor == null ? null : AuditCursor.decode(cursor))
+            .limit(limit)
+            .build();
+
+    try {
+      AuditLogPage page = adminAuditQueryService.findPage(query);
+      return ResponseEntity.status(HttpStatus.OK).body(AuditAdminV1Mapper.INSTANCE.map(page));
+    } catch (Exception e) {
+      log.error("Failed to fetch audit log for {}", query, e);
+      throw e;
+    }
+  }
+}
@@ -10,19 +10,24 @@ import branchmaster.admin.model.CreateBranchOperatingHoursRequest;
 import branchmaster.admin.model.CreateBranchRequest;
 import branchmaster.admin.model.UpdateBranchOperatingHoursRequest;
 import branchmaster.admin.model.UpdateBranchRequest;
+import branchmaster.service.AppointmentExportService;
 import branchmaster.service.AppointmentService;
 import branchmaster.service.BranchOperatingHoursService;
 import branchmaster.service.BranchService;
 import branchmaster.service.model.AppointmentDto;
 import branchmaster.service.model.BranchDto;
 import branchmaster.service.model.BranchOperatingHoursDto;
+import branchmaster.service.model.ExportFormat;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequestMapping("/api/admin")
 @Slf4j
@@ -44,6 +50,7 @@ public class BranchAdminControllerV1 {
   private final BranchService branchService;
   private final BranchOperatingHoursService branchOperatingHoursService;
   private final AppointmentService appointmentService;
+  private final AppointmentExportService appointmentExportService;
 
   @GetMapping(path = "/branch", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<List<BranchAdminResponse>> getBranchList() {
@@ -71,6 +78,52 @@ public class BranchAdminControllerV1 {
     }
   }
 
+  /** Streams every appointment in the range, of one branch or of all branches without branchId. */
+  @GetMapping(path = "/appointments/export")
+  public ResponseEntity<StreamingResponseBody> exportAppointments(
+      @RequestParam(value = "branchId", required = false) @PositiveOrZero Long branchId,
+      @RequestParam("startDate") @NotNull LocalDate startDate,
+      @RequestParam("endDate") @NotNull LocalDate endDate,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format) {
+
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("endDate must be on/after startDate");
+    }
+
+    String filename =
+        "appointments-%s-%s-%s.%s"
+            .formatted(
+                branchId == null ? "all" : branchId,
+                startDate,
+                endDate,
+                format == ExportFormat.CSV ? "csv" : "ndjson");
+
+    StreamingResponseBody body =
+        outputStream -> {
+          try {
+            appointmentExportService.export(format, branchId, startDate, endDate, outputStream);
+          } catch (Exception e) {
+            log.error(
+                "Failed to export appointments for branch {} between {} and {}",
+                branchId,
+                startDate,
+                endDate,
+                e);
+            throw e;
+          }
+        };
+
+    return ResponseEntity.ok()
+        .contentType(
+            format == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson"))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
+  }
+
   @GetMapping(path = "/branch/{branchId}", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<BranchAdminResponse> getBranchDetails(
       @PathVariable @NotNull @PositiveOrZero Long branchId) {
@@ -0,0 +1,20 @@
+package branchmaster.admin.mapper;
+
+import branchmaster.admin.model.AuditLogEntryResponse;
+import branchmaster.admin.model.AuditLogPageResponse;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditLogPage;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface AuditAdminV1Mapper {
+  AuditAdminV1Mapper INSTANCE = Mappers.getMapper(AuditAdminV1Mapper.class);
+
+  AuditLogPageResponse map(AuditLogPage page);
+
+  List<AuditLogEntryResponse> map(List<AdminActionAuditEntity> entries);
+
+  AuditLogEntryResponse map(AdminActionAuditEntity entry);
+}
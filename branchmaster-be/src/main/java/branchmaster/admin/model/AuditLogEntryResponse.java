@@ -0,0 +1,10 @@
+package branchmaster.admin.model;
+
+import branchmaster.audit.entity.ActionType;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+@Builder
+public record AuditLogEntryResponse(
+    Long id, Long staffId, ActionType actionType, JsonNode params, LocalDateTime createdAt) {}
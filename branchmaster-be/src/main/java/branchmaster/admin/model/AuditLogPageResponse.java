@@ -0,0 +1,7 @@
+package branchmaster.admin.model;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record AuditLogPageResponse(List<AuditLogEntryResponse> entries, String nextCursor) {}
@@ -1,38 +1,45 @@
 package branchmaster.audit;
 
 import branchmaster.audit.entity.ActionType;
-import branchmaster.audit.entity.AdminActionAuditEntity;
-import branchmaster.audit.repository.AdminActionAuditRepository;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.OutboxService;
 import branchmaster.security.StaffAuthUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * The entry goes to the outbox and commits or rolls back with the change it records; a failure
+ * there fails the change. Auditing outside a transaction is a bug in the caller and throws, so an
+ * admin change can never be recorded apart from the mutation itself.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdminActionAuditService {
-  private final AdminActionAuditRepository repo;
+  private final OutboxService outboxService;
   private final ObjectMapper objectMapper;
 
   public void log(ActionType actionType, Object params) {
-    try {
-      AdminActionAuditEntity entity = new AdminActionAuditEntity();
-      entity.setStaffId(StaffAuthUtil.getStaffId());
-      entity.setActionType(actionType);
-      entity.setParams(writeJson(params));
-      entity.setCreatedAt(LocalDateTime.now());
-      repo.save(entity);
-    } catch (Exception e) {
-      log.error("Something went wrong when creating admin audit, [{}]", e.getMessage());
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      log.error("Admin action [{}] audited outside a transaction", actionType);
+      throw new IllegalStateException(
+          "Admin audit must run in the transaction of the change it records");
     }
+
+    outboxService.append(
+        OutboxEventType.ADMIN_ACTION,
+        null,
+        new AdminActionPayload(StaffAuthUtil.getStaffId(), actionType, writeJson(params)));
   }
 
   private JsonNode writeJson(Object params) {
     if (params == null) return null;
     return objectMapper.valueToTree(params);
   }
+
+  record AdminActionPayload(Long staffId, ActionType actionType, JsonNode params) {}
 }
@@ -0,0 +1,46 @@
+package branchmaster.audit;
+
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditCursor;
+import branchmaster.audit.model.AuditLogPage;
+import branchmaster.audit.model.AuditLogQuery;
+import branchmaster.audit.repository.AdminActionAuditQueryRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminAuditQueryService {
+
+  private final AdminActionAuditQueryRepository queryRepository;
+
+  public AuditLogPage findPage(AuditLogQuery query) {
+    if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+
+    // One extra row tells whether another page exists without a count query.
+    List<AdminActionAuditEntity> rows;
+    try {
+      rows = queryRepository.findPage(query, query.limit() + 1);
+    } catch (BadSqlGrammarException e) {
+      if (query.paramPath() == null) {
+        throw e;
+      }
+      throw new IllegalArgumentException("Invalid paramPath: " + query.paramPath());
+    }
+
+    if (rows.size() <= query.limit()) {
+      return new AuditLogPage(rows, null);
+    }
+
+    List<AdminActionAuditEntity> page = rows.subList(0, query.limit());
+    AdminActionAuditEntity last = page.getLast();
+    return new AuditLogPage(
+        List.copyOf(page), new AuditCursor(last.getCreatedAt(), last.getId()).encode());
+  }
+}
@@ -0,0 +1,248 @@
+package branchmaster.audit;
+
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.repository.AdminActionAuditBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes admin audit entries off the request thread. Entries go into a bounded queue that one
+ * background thread drains into JDBC batches of up to {@code batch-size}, flushing a partial batch
+ * once {@code flush-interval} passes. A caller waits at most {@code offer-timeout} for queue space;
+ * after that, and whenever a batch fails to insert, entries are appended to a local spill file that
+ * is replayed on the next start. Stopping drains the queue before the data source goes away; a
+ * submission that races with it is written by the submitting thread instead.
+ */
+@Slf4j
+@Component
+public class AdminAuditWriter implements SmartLifecycle {
+
+  private final AdminActionAuditBatchRepository batchRepository;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final Duration offerTimeout;
+  private final Path spillFile;
+  private final BlockingQueue<AdminActionAuditEntity> queue;
+
+  private final Object spillLock = new Object();
+  private volatile boolean running;
+  private Thread worker;
+
+  public AdminAuditWriter(
+      AdminActionAuditBatchRepository batchRepository,
+      ObjectMapper objectMapper,
+      @Value("${app.audit.writer.enabled:true}") boolean enabled,
+      @Value("${app.audit.writer.queue-capacity:10000}") int queueCapacity,
+      @Value("${app.audit.writer.batch-size:200}") int batchSize,
+      @Value("${app.audit.writer.flush-interval:200ms}") Duration flushInterval,
+      @Value("${app.audit.writer.offer-timeout:10ms}") Duration offerTimeout,
+      @Value("${app.audit.writer.spill-file:data/audit-spill.ndjson}") Path spillFile) {
+    this.batchRepository = batchRepository;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    this.offerTimeout = offerTimeout;
+    this.spillFile = spillFile;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  public void submit(AdminActionAuditEntity entry) {
+    if (!enabled || !running) {
+      writeOrSpill(List.of(entry));
+      return;
+    }
+
+    try {
+      if (offer(entry)) {
+        // stop() may have drained the queue for the last time before the offer landed. Whoever
+        // takes the entry back out of the queue writes it, so it is written exactly once.
+        if (!running && queue.removeIf(queued -> queued == entry)) {
+          writeOrSpill(List.of(entry));
+        }
+        return;
+      }
+      log.warn("Admin audit queue is full, spilling entry to [{}]", spillFile);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    spill(List.of(entry));
+  }
+
+  boolean offer(AdminActionAuditEntity entry) throws InterruptedException {
+    return queue.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  public int queueSize() {
+    return queue.size();
+  }
+
+  @Override
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    replaySpillFile();
+    running = true;
+    worker = Thread.ofVirtual().name("admin-audit-writer").start(this::drain);
+  }
+
+  @Override
+  public void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    try {
+      worker.join(flushInterval.multipliedBy(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    List<AdminActionAuditEntity> batch = new ArrayList<>(batchSize);
+    while (queue.drainTo(batch, batchSize) > 0) {
+      writeOrSpill(batch);
+      batch.clear();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void drain() {
+    List<AdminActionAuditEntity> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        AdminActionAuditEntity first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0) {
+            break;
+          }
+          AdminActionAuditEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+
+      if (!batch.isEmpty()) {
+        writeOrSpill(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void writeOrSpill(List<AdminActionAuditEntity> batch) {
+    try {
+      batchRepository.insertAll(List.copyOf(batch));
+    } catch (Exception e) {
+      log.error("Failed to write [{}] admin audit entries, spilling", batch.size(), e);
+      spill(batch);
+    }
+  }
+
+  private void spill(List<AdminActionAuditEntity> entries) {
+    synchronized (spillLock) {
+      try {
+        if (spillFile.getParent() != null) {
+          Files.createDirectories(spillFile.getParent());
+        }
+        try (FileChannel channel =
+            FileChannel.open(
+                spillFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+          for (AdminActionAuditEntity entry : entries) {
+            String line = objectMapper.writeValueAsString(entry) + "\n";
+            channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+          }
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        log.error("Lost [{}] admin audit entries, could not spill", entries.size(), e);
+      }
+    }
+  }
+
+  private void replaySpillFile() {
+    synchronized (spillLock) {
+      if (!Files.exists(spillFile)) {
+        return;
+      }
+
+      List<String> lines;
+      try {
+        lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        log.error("Could not read admin audit spill file [{}]", spillFile, e);
+        return;
+      }
+
+      int read = 0;
+      int written = 0;
+      try {
+        List<AdminActionAuditEntity> batch = new ArrayList<>(batchSize);
+        for (String line : lines) {
+          if (!line.isBlank()) {
+            batch.add(objectMapper.readValue(line, AdminActionAuditEntity.class));
+          }
+          read++;
+          if (batch.size() == batchSize || read == lines.size()) {
+            if (!batch.isEmpty()) {
+              batchRepository.insertAll(List.copyOf(batch));
+              batch.clear();
+            }
+            written = read;
+          }
+        }
+        Files.delete(spillFile);
+        log.info("Replayed [{}] spilled admin audit entries", lines.size());
+      } catch (Exception e) {
+        // Keep only what has not been written, so the next start does not duplicate entries.
+        log.error("Replaying admin audit spill file stopped after [{}] lines", written, e);
+        try {
+          Files.write(
+              spillFile,
+              lines.subList(written, lines.size()),
+              StandardCharsets.UTF_8,
+              StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException ioException) {
+          log.error("Could not rewrite admin audit spill file [{}]", spillFile, ioException);
+        }
+      }
+    }
+  }
+}
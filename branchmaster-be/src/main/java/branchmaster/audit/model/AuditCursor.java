@@ -0,0 +1,25 @@
+package branchmaster.audit.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/** Position after the last entry of a page, in (created_at, id) descending order. */
+public record AuditCursor(LocalDateTime createdAt, Long id) {
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static AuditCursor decode(String cursor) {
+    try {
+      String[] parts =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+      return new AuditCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package branchmaster.audit.model;
+
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import java.util.List;
+
+/** {@code nextCursor} is null on the last page. */
+public record AuditLogPage(List<AdminActionAuditEntity> entries, String nextCursor) {}
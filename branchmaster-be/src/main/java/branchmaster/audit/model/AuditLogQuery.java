@@ -0,0 +1,19 @@
+package branchmaster.audit.model;
+
+import branchmaster.audit.entity.ActionType;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+/**
+ * Filters for one page of the audit log. {@code from} is inclusive and {@code to} exclusive; {@code
+ * paramPath} is a Postgres jsonpath predicate evaluated against params.
+ */
+@Builder
+public record AuditLogQuery(
+    Long staffId,
+    ActionType actionType,
+    LocalDateTime from,
+    LocalDateTime to,
+    String paramPath,
+    AuditCursor cursor,
+    int limit) {}
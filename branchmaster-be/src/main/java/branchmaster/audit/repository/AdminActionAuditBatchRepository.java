@@ -0,0 +1,39 @@
+package branchmaster.audit.repository;
+
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class AdminActionAuditBatchRepository {
+
+  private static final String INSERT =
+      """
+          INSERT INTO branch_master.admin_audit_log (staff_id, action_type, params, created_at)
+          VALUES (:staffId, :actionType, CAST(:params AS jsonb), :createdAt)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** One JDBC batch; entries without params are stored as JSON null to satisfy the column. */
+  public void insertAll(List<AdminActionAuditEntity> entries) {
+    SqlParameterSource[] batch = new SqlParameterSource[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      AdminActionAuditEntity entry = entries.get(i);
+      batch[i] =
+          new MapSqlParameterSource()
+              .addValue("staffId", entry.getStaffId())
+              .addValue("actionType", entry.getActionType().name())
+              .addValue("params", entry.getParams() == null ? "null" : entry.getParams().toString())
+              .addValue("createdAt", entry.getCreatedAt());
+    }
+    jdbcTemplate.batchUpdate(INSERT, batch);
+  }
+}
@@ -0,0 +1,82 @@
+package branchmaster.audit.repository;
+
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditLogQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset pagination over admin_audit_log, newest first. The row comparison on (created_at, id)
+ * continues from the cursor without an OFFSET, so every page costs the same however deep it is.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class AdminActionAuditQueryRepository {
+
+  private static final String SELECT =
+      """
+          SELECT id, staff_id, action_type, params, created_at
+          FROM branch_master.admin_audit_log
+          WHERE TRUE
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public List<AdminActionAuditEntity> findPage(AuditLogQuery query, int limit) {
+    StringBuilder sql = new StringBuilder(SELECT);
+    MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+
+    if (query.staffId() != null) {
+      sql.append(" AND staff_id = :staffId");
+      params.addValue("staffId", query.staffId());
+    }
+    if (query.actionType() != null) {
+      sql.append(" AND action_type = :actionType");
+      params.addValue("actionType", query.actionType().name());
+    }
+    if (query.from() != null) {
+      sql.append(" AND created_at >= :from");
+      params.addValue("from", query.from());
+    }
+    if (query.to() != null) {
+      sql.append(" AND created_at < :to");
+      params.addValue("to", query.to());
+    }
+    if (query.paramPath() != null) {
+      sql.append(" AND params @@ CAST(:paramPath AS jsonpath)");
+      params.addValue("paramPath", query.paramPath());
+    }
+    if (query.cursor() != null) {
+      sql.append(" AND (created_at, id) < (:cursorCreatedAt, :cursorId)");
+      params.addValue("cursorCreatedAt", query.cursor().createdAt());
+      params.addValue("cursorId", query.cursor().id());
+    }
+    sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+
+    return jdbcTemplate.query(sql.toString(), params, this::mapRow);
+  }
+
+  private AdminActionAuditEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+    AdminActionAuditEntity entity = new AdminActionAuditEntity();
+    entity.setId(rs.getLong("id"));
+    entity.setStaffId(rs.getLong("staff_id"));
+    entity.setActionType(ActionType.valueOf(rs.getString("action_type")));
+    entity.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+    try {
+      entity.setParams(objectMapper.readTree(rs.getString("params")));
+    } catch (Exception e) {
+      throw new SQLException("Failed to read params of audit entry " + entity.getId(), e);
+    }
+    return entity;
+  }
+}
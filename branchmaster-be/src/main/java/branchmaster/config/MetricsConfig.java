@@ -0,0 +1,40 @@
+package branchmaster.config;
+
+import branchmaster.audit.AdminAuditWriter;
+import branchmaster.service.booking.BookingLockManager;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+  /** Backs the class-level {@code @Timed} on the JDBC repositories. */
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  @Bean
+  public MeterBinder bookingLockMetrics(BookingLockManager bookingLockManager) {
+    return registry ->
+        Gauge.builder(
+                "branchmaster.booking.lock.waiting",
+                bookingLockManager,
+                BookingLockManager::waiting)
+            .description("Bookings currently waiting for a branch-day lock")
+            .register(registry);
+  }
+
+  @Bean
+  public MeterBinder adminAuditWriterMetrics(AdminAuditWriter adminAuditWriter) {
+    return registry ->
+        Gauge.builder(
+                "branchmaster.audit.queue.size", adminAuditWriter, AdminAuditWriter::queueSize)
+            .description("Admin audit entries waiting to be written")
+            .register(registry);
+  }
+}
@@ -3,17 +3,29 @@ package branchmaster.controller.v1;
 import branchmaster.controller.v1.mapper.AppointmentV1Mapper;
 import branchmaster.controller.v1.model.CreateAppointmentRequest;
 import branchmaster.controller.v1.model.CreateAppointmentResponse;
+import branchmaster.controller.v1.model.FreeSlotResponse;
 import branchmaster.service.AppointmentService;
+import branchmaster.service.AvailabilitySearchService;
+import branchmaster.service.availability.AvailabilityStreamHub;
+import branchmaster.service.availability.BranchDataVersionService;
 import branchmaster.service.model.AppointmentDto;
+import branchmaster.service.model.FreeSlot;
+import branchmaster.service.model.SlotSearchOrder;
 import branchmaster.service.model.Timeslot;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,30 +37,116 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequestMapping("/api/v1/appointment")
 @Slf4j
-@RequiredArgsConstructor
 @RestController
 public class AppointmentControllerV1 {
 
   private final AppointmentService appointmentService;
+  private final AvailabilitySearchService availabilitySearchService;
+  private final BranchDataVersionService branchDataVersionService;
+  private final AvailabilityStreamHub availabilityStreamHub;
+  private final CacheControl availabilityCacheControl;
+  private final int maxRangeDays;
 
+  public AppointmentControllerV1(
+      AppointmentService appointmentService,
+      AvailabilitySearchService availabilitySearchService,
+      BranchDataVersionService branchDataVersionService,
+      AvailabilityStreamHub availabilityStreamHub,
+      @Value("${app.availability.http.max-age:5s}") Duration availabilityMaxAge,
+      @Value("${app.availability.max-range-days:62}") int maxRangeDays) {
+    this.appointmentService = appointmentService;
+    this.availabilitySearchService = availabilitySearchService;
+    this.branchDataVersionService = branchDataVersionService;
+    this.availabilityStreamHub = availabilityStreamHub;
+    this.availabilityCacheControl = CacheControl.maxAge(availabilityMaxAge).cachePublic();
+    this.maxRangeDays = maxRangeDays;
+  }
+
+  /**
+   * Tagged with the branch's data version, read before the slots so the tag is never newer than the
+   * body, and only days cached under that version are reused; a matching {@code If-None-Match}
+   * costs one primary-key lookup and returns 304.
+   */
   @GetMapping(path = "available/{branchId}", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Map<LocalDate, List<Timeslot>>> getAvailableAppointmentsForBranch(
       @PathVariable @NotNull @PositiveOrZero Long branchId,
       @RequestParam("startDate") @NotNull LocalDate startDate,
-      @RequestParam("endDate") @NotNull LocalDate endDate) {
+      @RequestParam("endDate") @NotNull LocalDate endDate,
+      WebRequest request) {
 
     if (endDate.isBefore(startDate)) {
       throw new IllegalArgumentException("endDate must be on/after startDate");
     }
+    if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+      throw new IllegalArgumentException("A request covers at most " + maxRangeDays + " days");
+    }
 
     try {
+      long version = branchDataVersionService.current(branchId);
+      String etag = "\"" + version + "-" + startDate + "-" + endDate + "\"";
+      if (request.checkNotModified(etag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(availabilityCacheControl)
+            .build();
+      }
+
       Map<LocalDate, List<Timeslot>> response =
-          appointmentService.getAvailableAppointments(branchId, startDate, endDate);
+          appointmentService.getAvailableAppointments(branchId, startDate, endDate, version);
+
+      return ResponseEntity.status(HttpStatus.OK)
+          .eTag(etag)
+          .cacheControl(availabilityCacheControl)
+          .body(response);
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      throw e;
+    }
+  }
+
+  /**
+   * Server-sent events: a {@code snapshot} event with the same body as the endpoint above, then a
+   * {@code delta} event whenever bookings, cancellations or admin changes alter the range.
+   */
+  @GetMapping(path = "available/{branchId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamAvailableAppointmentsForBranch(
+      @PathVariable @NotNull @PositiveOrZero Long branchId,
+      @RequestParam("startDate") @NotNull LocalDate startDate,
+      @RequestParam("endDate") @NotNull LocalDate endDate) {
+
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("endDate must be on/after startDate");
+    }
+
+    return availabilityStreamHub.subscribe(branchId, startDate, endDate);
+  }
+
+  @GetMapping(path = "available", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<FreeSlotResponse>> searchFreeSlots(
+      @RequestParam("startDate") @NotNull LocalDate startDate,
+      @RequestParam("endDate") @NotNull LocalDate endDate,
+      @RequestParam(value = "latitude", required = false) Double latitude,
+      @RequestParam(value = "longitude", required = false) Double longitude,
+      @RequestParam(value = "radiusKm", required = false) @Positive Double radiusKm,
+      @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+      @RequestParam(value = "sort", defaultValue = "TIME") SlotSearchOrder sort) {
+
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("endDate must be on/after startDate");
+    }
+
+    try {
+      List<FreeSlot> response =
+          availabilitySearchService.findFreeSlots(
+              startDate, endDate, latitude, longitude, radiusKm, limit, sort);
 
-      return ResponseEntity.status(HttpStatus.OK).body(response);
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(AppointmentV1Mapper.INSTANCE.mapFreeSlots(response));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       throw e;
@@ -1,35 +1,45 @@
 package branchmaster.controller.v1;
 
-import branchmaster.controller.v1.mapper.BranchV1Mapper;
-import branchmaster.controller.v1.model.BranchMinimalResponse;
-import branchmaster.controller.v1.model.BranchResponse;
-import branchmaster.service.BranchService;
-import branchmaster.service.model.BranchDto;
-import java.util.List;
-import lombok.RequiredArgsConstructor;
+import branchmaster.service.catalogue.BranchCatalogue;
+import java.time.Duration;
+import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+/**
+ * Serves the branch list straight from the pre-serialised {@link BranchCatalogue}, gzipped when the
+ * client accepts it. A matching {@code If-None-Match} (or {@code If-Modified-Since}) is answered
+ * with 304 without writing a body.
+ */
 @RequestMapping("/api/v1/branch")
 @Slf4j
-@RequiredArgsConstructor
 @RestController
 public class BranchControllerV1 {
 
-  private final BranchService branchService;
+  private final BranchCatalogue branchCatalogue;
+  private final CacheControl cacheControl;
+
+  public BranchControllerV1(
+      BranchCatalogue branchCatalogue,
+      @Value("${app.branch.catalogue.max-age:60s}") Duration maxAge) {
+    this.branchCatalogue = branchCatalogue;
+    this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+  }
 
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<List<BranchMinimalResponse>> getBranchListMinimal() {
+  public ResponseEntity<byte[]> getBranchListMinimal(WebRequest request) {
     try {
-      List<BranchDto> response = branchService.getAllOpenBranches();
-
-      return ResponseEntity.status(HttpStatus.OK)
-          .body(BranchV1Mapper.INSTANCE.mapMinimal(response));
+      BranchCatalogue.Snapshot snapshot = branchCatalogue.current();
+      return serve(request, snapshot.minimal(), snapshot.lastModified());
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       throw e;
@@ -37,14 +47,59 @@ public class BranchControllerV1 {
   }
 
   @GetMapping(path = "/full", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<List<BranchResponse>> getBranchList() {
+  public ResponseEntity<byte[]> getBranchList(WebRequest request) {
     try {
-      List<BranchDto> response = branchService.getAllOpenBranches();
-
-      return ResponseEntity.status(HttpStatus.OK).body(BranchV1Mapper.INSTANCE.map(response));
+      BranchCatalogue.Snapshot snapshot = branchCatalogue.current();
+      return serve(request, snapshot.full(), snapshot.lastModified());
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       throw e;
     }
   }
+
+  private ResponseEntity<byte[]> serve(
+      WebRequest request, BranchCatalogue.View view, Instant lastModified) {
+    boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String etag = view.etag(gzip);
+
+    if (request.checkNotModified(etag, lastModified.toEpochMilli())) {
+      return tagged(HttpStatus.NOT_MODIFIED, etag, lastModified).build();
+    }
+
+    ResponseEntity.BodyBuilder response =
+        tagged(HttpStatus.OK, etag, lastModified).contentType(MediaType.APPLICATION_JSON);
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(view.gzip());
+    }
+    return response.body(view.json());
+  }
+
+  private ResponseEntity.BodyBuilder tagged(HttpStatus status, String etag, Instant lastModified) {
+    return ResponseEntity.status(status)
+        .eTag(etag)
+        .lastModified(lastModified)
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  /** Accepts gzip unless it is absent or explicitly refused with {@code q=0}. */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+        continue;
+      }
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim().replace(" ", "");
+        if (parameter.matches("q=0(\\.0{0,3})?")) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
 }
@@ -1,7 +1,10 @@
 package branchmaster.controller.v1.mapper;
 
 import branchmaster.controller.v1.model.CreateAppointmentResponse;
+import branchmaster.controller.v1.model.FreeSlotResponse;
 import branchmaster.service.model.AppointmentDto;
+import branchmaster.service.model.FreeSlot;
+import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
@@ -12,4 +15,6 @@ public interface AppointmentV1Mapper {
 
   @Mapping(source = "id", target = "appointmentId")
   CreateAppointmentResponse map(AppointmentDto created);
+
+  List<FreeSlotResponse> mapFreeSlots(List<FreeSlot> freeSlots);
 }
@@ -0,0 +1,14 @@
+package branchmaster.controller.v1.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.Builder;
+
+@Builder
+public record FreeSlotResponse(
+    Long branchId,
+    String branchName,
+    LocalDate date,
+    LocalTime startTime,
+    LocalTime endTime,
+    Double distanceKm) {}
@@ -0,0 +1,18 @@
+package branchmaster.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+/**
+ * A change recorded in the same transaction as the business write. Relayed to every {@link
+ * OutboxSink} and published as an application event, so in-process listeners can subscribe with
+ * {@code @EventListener}.
+ */
+@Builder
+public record OutboxEvent(
+    Long id,
+    OutboxEventType eventType,
+    Long aggregateId,
+    JsonNode payload,
+    LocalDateTime createdAt) {}
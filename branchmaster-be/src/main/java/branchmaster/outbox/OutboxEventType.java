@@ -0,0 +1,7 @@
+package branchmaster.outbox;
+
+public enum OutboxEventType {
+  ADMIN_ACTION,
+  APPOINTMENT_BOOKED,
+  APPOINTMENT_CANCELLED
+}
@@ -0,0 +1,123 @@
+package branchmaster.outbox;
+
+import branchmaster.outbox.repository.OutboxRepository;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves committed outbox events to the sinks in batches. Each batch is claimed, delivered and
+ * removed in one transaction. When a batch fails, its events are relayed again one at a time, so
+ * one bad event does not hold back the rest; an event that fails on its own is retried on later
+ * runs and parked after {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+  private final OutboxRepository outboxRepository;
+  private final List<OutboxSink> sinks;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final int maxAttempts;
+
+  public OutboxRelay(
+      OutboxRepository outboxRepository,
+      List<OutboxSink> sinks,
+      ApplicationEventPublisher eventPublisher,
+      TransactionTemplate transactionTemplate,
+      @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+      @Value("${app.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+      @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts) {
+    this.outboxRepository = outboxRepository;
+    this.sinks = sinks;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.relay.interval:500ms}")
+  public void relay() {
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      int relayed;
+      try {
+        relayed = relayBatch();
+      } catch (Exception e) {
+        log.warn("Failed to relay outbox batch, relaying its events one at a time", e);
+        relayOneAtATime();
+        return;
+      }
+      if (relayed < batchSize) {
+        return;
+      }
+    }
+  }
+
+  int relayBatch() {
+    List<OutboxEvent> events =
+        transactionTemplate.execute(
+            status -> {
+              List<OutboxEvent> claimed = outboxRepository.claim(batchSize);
+              if (!claimed.isEmpty()) {
+                sinks.forEach(sink -> sink.publish(claimed));
+              }
+              return claimed;
+            });
+
+    // In-process listeners run after the commit, so they only ever see delivered events.
+    events.forEach(eventPublisher::publishEvent);
+    log.debug("Relayed [{}] outbox events", events.size());
+    return events.size();
+  }
+
+  void relayOneAtATime() {
+    List<Long> pending;
+    try {
+      pending = outboxRepository.findPending(batchSize);
+    } catch (Exception e) {
+      log.error("Failed to read pending outbox events, will retry", e);
+      return;
+    }
+
+    for (Long id : pending) {
+      try {
+        Optional<OutboxEvent> delivered =
+            transactionTemplate.execute(
+                status -> {
+                  Optional<OutboxEvent> claimed = outboxRepository.claimOne(id);
+                  claimed.ifPresent(event -> sinks.forEach(sink -> sink.publish(List.of(event))));
+                  return claimed;
+                });
+        delivered.ifPresent(eventPublisher::publishEvent);
+      } catch (Exception e) {
+        if (!recordFailure(id, e)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /** Returns false when the failure cannot be recorded either, e.g. with the database down. */
+  private boolean recordFailure(Long id, Exception failure) {
+    try {
+      if (outboxRepository.recordFailure(id, String.valueOf(failure), maxAttempts)) {
+        log.error("Parked outbox event [{}] after [{}] failed attempts", id, maxAttempts, failure);
+      } else {
+        log.warn("Failed to relay outbox event [{}], will retry", id, failure);
+      }
+      return true;
+    } catch (Exception e) {
+      log.error("Failed to record outbox failure for event [{}], will retry", id, e);
+      return false;
+    }
+  }
+}
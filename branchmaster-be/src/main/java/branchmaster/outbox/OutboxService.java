@@ -0,0 +1,22 @@
+package branchmaster.outbox;
+
+import branchmaster.outbox.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+  private final OutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+
+  /** Must join the caller's transaction, so the event commits or rolls back with the change. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void append(OutboxEventType eventType, Long aggregateId, Object payload) {
+    outboxRepository.append(eventType, aggregateId, objectMapper.valueToTree(payload));
+  }
+}
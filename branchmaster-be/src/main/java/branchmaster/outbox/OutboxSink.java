@@ -0,0 +1,13 @@
+package branchmaster.outbox;
+
+import java.util.List;
+
+/**
+ * Receives relayed events in id order, inside the relay transaction. A sink that throws rolls the
+ * batch back and every sink sees its events again, one at a time, so sinks must tolerate
+ * redelivery. An event that keeps failing is parked and may be overtaken by later events.
+ */
+public interface OutboxSink {
+
+  void publish(List<OutboxEvent> events);
+}
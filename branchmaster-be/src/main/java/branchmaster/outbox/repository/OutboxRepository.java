@@ -0,0 +1,128 @@
+package branchmaster.outbox.repository;
+
+import branchmaster.outbox.OutboxEvent;
+import branchmaster.outbox.OutboxEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+  private static final String INSERT =
+      """
+          INSERT INTO branch_master.outbox_event (event_type, aggregate_id, payload)
+          VALUES (:eventType, :aggregateId, CAST(:payload AS jsonb))
+      """;
+
+  /**
+   * Claims and removes the oldest events in one statement. Rows locked by a concurrent relay and
+   * parked rows are skipped, and a rollback puts the claimed rows back.
+   */
+  private static final String CLAIM =
+      """
+          DELETE FROM branch_master.outbox_event
+          WHERE id IN (
+              SELECT id
+              FROM branch_master.outbox_event
+              WHERE parked_at IS NULL
+              ORDER BY id
+              LIMIT :limit
+              FOR UPDATE SKIP LOCKED
+          )
+          RETURNING id, event_type, aggregate_id, payload, created_at
+      """;
+
+  private static final String CLAIM_ONE =
+      """
+          DELETE FROM branch_master.outbox_event
+          WHERE id IN (
+              SELECT id
+              FROM branch_master.outbox_event
+              WHERE id = :id AND parked_at IS NULL
+              FOR UPDATE SKIP LOCKED
+          )
+          RETURNING id, event_type, aggregate_id, payload, created_at
+      """;
+
+  private static final String FIND_PENDING =
+      """
+          SELECT id
+          FROM branch_master.outbox_event
+          WHERE parked_at IS NULL
+          ORDER BY id
+          LIMIT :limit
+      """;
+
+  private static final String RECORD_FAILURE =
+      """
+          UPDATE branch_master.outbox_event
+          SET attempts = attempts + 1,
+              last_error = :error,
+              parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+          WHERE id = :id
+          RETURNING parked_at IS NOT NULL
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public void append(OutboxEventType eventType, Long aggregateId, JsonNode payload) {
+    jdbcTemplate.update(
+        INSERT,
+        new MapSqlParameterSource()
+            .addValue("eventType", eventType.name())
+            .addValue("aggregateId", aggregateId)
+            .addValue("payload", payload.toString()));
+  }
+
+  public List<OutboxEvent> claim(int limit) {
+    return jdbcTemplate.query(CLAIM, Map.of("limit", limit), this::mapRow).stream()
+        .sorted(Comparator.comparing(OutboxEvent::id))
+        .toList();
+  }
+
+  public Optional<OutboxEvent> claimOne(long id) {
+    return jdbcTemplate.query(CLAIM_ONE, Map.of("id", id), this::mapRow).stream().findFirst();
+  }
+
+  public List<Long> findPending(int limit) {
+    return jdbcTemplate.queryForList(FIND_PENDING, Map.of("limit", limit), Long.class);
+  }
+
+  /** Counts a failed attempt and parks the event once it reaches {@code maxAttempts}. */
+  public boolean recordFailure(long id, String error, int maxAttempts) {
+    List<Boolean> parked =
+        jdbcTemplate.queryForList(
+            RECORD_FAILURE,
+            Map.of("id", id, "error", error, "maxAttempts", maxAttempts),
+            Boolean.class);
+    return !parked.isEmpty() && parked.getFirst();
+  }
+
+  private OutboxEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
+    try {
+      return OutboxEvent.builder()
+          .id(rs.getLong("id"))
+          .eventType(OutboxEventType.valueOf(rs.getString("event_type")))
+          .aggregateId(rs.getObject("aggregate_id", Long.class))
+          .payload(objectMapper.readTree(rs.getString("payload")))
+          .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+          .build();
+    } catch (Exception e) {
+      throw new SQLException("Failed to read outbox event " + rs.getLong("id"), e);
+    }
+  }
+}
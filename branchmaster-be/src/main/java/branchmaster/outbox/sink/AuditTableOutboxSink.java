@@ -0,0 +1,45 @@
+package branchmaster.outbox.sink;
+
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.repository.AdminActionAuditBatchRepository;
+import branchmaster.outbox.OutboxEvent;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Writes admin actions to admin_audit_log in the relay transaction, so each lands exactly once. */
+@Component
+@RequiredArgsConstructor
+public class AuditTableOutboxSink implements OutboxSink {
+
+  private final AdminActionAuditBatchRepository batchRepository;
+
+  @Override
+  public void publish(List<OutboxEvent> events) {
+    List<AdminActionAuditEntity> entries =
+        events.stream()
+            .filter(event -> event.eventType() == OutboxEventType.ADMIN_ACTION)
+            .map(AuditTableOutboxSink::toEntity)
+            .toList();
+
+    if (!entries.isEmpty()) {
+      batchRepository.insertAll(entries);
+    }
+  }
+
+  private static AdminActionAuditEntity toEntity(OutboxEvent event) {
+    JsonNode payload = event.payload();
+    JsonNode params = payload.get("params");
+
+    AdminActionAuditEntity entity = new AdminActionAuditEntity();
+    entity.setStaffId(payload.path("staffId").isNull() ? null : payload.path("staffId").asLong());
+    entity.setActionType(ActionType.valueOf(payload.path("actionType").asText()));
+    entity.setParams(params == null || params.isNull() ? null : params);
+    entity.setCreatedAt(event.createdAt());
+    return entity;
+  }
+}
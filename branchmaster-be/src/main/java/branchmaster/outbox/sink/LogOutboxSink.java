@@ -0,0 +1,31 @@
+package branchmaster.outbox.sink;
+
+import branchmaster.outbox.OutboxEvent;
+import branchmaster.outbox.OutboxSink;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One line per event on the {@code branchmaster.outbox} logger, which can be routed to its own file
+ * for shipping.
+ */
+@Slf4j(topic = "branchmaster.outbox")
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.log.enabled", havingValue = "true")
+public class LogOutboxSink implements OutboxSink {
+
+  @Override
+  public void publish(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      log.info(
+          "{} id={} aggregateId={} createdAt={} payload={}",
+          event.eventType(),
+          event.id(),
+          event.aggregateId(),
+          event.createdAt(),
+          event.payload());
+    }
+  }
+}
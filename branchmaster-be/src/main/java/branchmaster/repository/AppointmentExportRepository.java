@@ -0,0 +1,87 @@
+package branchmaster.repository;
+
+import branchmaster.repository.entity.BookingStatus;
+import branchmaster.service.model.AppointmentDto;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads appointments in (appointment_date, id) order, one bounded chunk per call. Each chunk is its
+ * own short statement, so an export of any length never keeps a transaction or snapshot open on the
+ * appointment table.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class AppointmentExportRepository {
+
+  private static final String SELECT_CHUNK =
+      """
+          SELECT id, branch_id, appointment_date, start_time, end_time, status, created_at,
+                 reason, name, email, phone_number
+          FROM branch_master.appointment
+          WHERE appointment_date BETWEEN :startDate AND :endDate
+            AND (appointment_date, id) > (:afterDate, :afterId)
+            AND (CAST(:branchId AS bigint) IS NULL OR branch_id = :branchId)
+          ORDER BY appointment_date, id
+          LIMIT :limit
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Passes up to {@code limit} appointments after the given key to {@code consumer} and returns how
+   * many were read; {@code branchId} null exports every branch.
+   */
+  public int readChunk(
+      Long branchId,
+      LocalDate startDate,
+      LocalDate endDate,
+      LocalDate afterDate,
+      long afterId,
+      int limit,
+      Consumer<AppointmentDto> consumer) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("branchId", branchId)
+            .addValue("startDate", startDate)
+            .addValue("endDate", endDate)
+            .addValue("afterDate", afterDate)
+            .addValue("afterId", afterId)
+            .addValue("limit", limit);
+
+    int[] read = new int[1];
+    jdbcTemplate.query(
+        SELECT_CHUNK,
+        params,
+        rs -> {
+          read[0]++;
+          consumer.accept(
+              AppointmentDto.builder()
+                  .id(rs.getLong("id"))
+                  .branchId(rs.getLong("branch_id"))
+                  .appointmentDate(rs.getObject("appointment_date", LocalDate.class))
+                  .startTime(rs.getTime("start_time").toLocalTime())
+                  .endTime(rs.getTime("end_time").toLocalTime())
+                  .status(
+                      rs.getString("status") == null
+                          ? null
+                          : BookingStatus.valueOf(rs.getString("status")))
+                  .createdAt(
+                      rs.getTimestamp("created_at") == null
+                          ? null
+                          : rs.getTimestamp("created_at").toLocalDateTime())
+                  .reason(rs.getString("reason"))
+                  .name(rs.getString("name"))
+                  .email(rs.getString("email"))
+                  .phoneNumber(rs.getString("phone_number"))
+                  .build());
+        });
+    return read[0];
+  }
+}
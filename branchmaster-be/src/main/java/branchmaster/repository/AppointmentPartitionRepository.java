@@ -0,0 +1,41 @@
+package branchmaster.repository;
+
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Monthly partitions of {@code appointment}. The DDL lives in the migration's SQL functions so the
+ * migration and the scheduled job create partitions the same way, including the per-partition
+ * overlap constraint.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class AppointmentPartitionRepository {
+
+  private static final String ENSURE_PARTITION =
+      "SELECT branch_master.ensure_appointment_partition(:month)";
+
+  private static final String ARCHIVE_PARTITIONS =
+      "SELECT branch_master.archive_appointment_partitions(:cutoff)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** Creates the partition holding {@code month} if missing and returns its name. */
+  public String ensurePartition(LocalDate month) {
+    return jdbcTemplate.queryForObject(ENSURE_PARTITION, Map.of("month", month), String.class);
+  }
+
+  /**
+   * Detaches every partition that ends on or before {@code cutoff} and moves it to the {@code
+   * branch_master_archive} schema. Returns the names of the archived partitions.
+   */
+  public List<String> archivePartitionsBefore(LocalDate cutoff) {
+    return jdbcTemplate.queryForList(ARCHIVE_PARTITIONS, Map.of("cutoff", cutoff), String.class);
+  }
+}
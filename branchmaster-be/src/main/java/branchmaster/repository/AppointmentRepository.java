@@ -2,17 +2,18 @@ package branchmaster.repository;
 
 import branchmaster.repository.entity.AppointmentEntity;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
+import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 public interface AppointmentRepository extends CrudRepository<AppointmentEntity, Long> {
 
+  /** Slot fields only, so the scan is served from ix_appointment_branch_date_booked alone. */
   @Query(
       """
-                SELECT *
+                SELECT branch_id, appointment_date, start_time, end_time, resource_availability_id
                 FROM branch_master.appointment
                 WHERE branch_id = :branchId
                   AND appointment_date BETWEEN :startDate AND :endDate
@@ -25,25 +26,25 @@ public interface AppointmentRepository extends CrudRepository<AppointmentEntity,
 
   @Query(
       """
-                SELECT *
+                SELECT id, branch_id, appointment_date, start_time, end_time, status, created_at,
+                       reason, name, email, phone_number, resource_availability_id
                 FROM branch_master.appointment
                 WHERE branch_id = :branchId
                   AND appointment_date = :date
                   AND status = 'BOOKED'
+                ORDER BY start_time
             """)
   List<AppointmentEntity> findBookedForBranchOnDate(
       @Param("branchId") Long branchId, @Param("date") LocalDate date);
 
+  /** Conditional on the status, so of two concurrent cancels only one sees a row change. */
+  @Modifying
   @Query(
       """
-                SELECT DISTINCT resource_availability_id
-                FROM branch_master.appointment
-                WHERE branch_id = :branchId
-                  AND appointment_date = :date
+                UPDATE branch_master.appointment
+                SET status = 'USER_CANCELLED'
+                WHERE id = :id
                   AND status = 'BOOKED'
-                  AND start_time < :endTime
-                  AND end_time > :startTime
             """)
-  List<Long> findBookedResourceIdsForSlot(
-      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime);
+  int cancelBooked(@Param("id") Long id);
 }
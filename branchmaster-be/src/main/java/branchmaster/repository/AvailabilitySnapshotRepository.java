@@ -0,0 +1,129 @@
+package branchmaster.repository;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import io.micrometer.core.annotation.Timed;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads an {@link AvailabilitySnapshot} in one round trip. Each source table contributes rows to a
+ * single UNION ALL, tagged by the {@code kind} column, and rows are mapped straight into the
+ * snapshot without materialising entities.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class AvailabilitySnapshotRepository {
+
+  static final String SNAPSHOT_QUERY =
+      """
+          SELECT 'B' AS kind, b.timeslot_length AS timeslot_length, NULL::int AS day_of_week,
+                 NULL::date AS start_date, NULL::date AS end_date,
+                 NULL::time AS start_time, NULL::time AS end_time
+          FROM branch_master.branch b
+          WHERE b.id = :branchId
+          UNION ALL
+          SELECT 'H', NULL, day_of_week, NULL, NULL, opening_time, closing_time
+          FROM branch_master.branch_operating_hours
+          WHERE branch_id = :branchId
+            AND closed = false
+          UNION ALL
+          SELECT 'R', NULL, day_of_week, start_date, end_date, start_time, end_time
+          FROM branch_master.resource_availability
+          WHERE branch_id = :branchId
+            AND validity && daterange(CAST(:startDate AS date), CAST(:endDate AS date), '[]')
+          UNION ALL
+          SELECT 'A', NULL, NULL, appointment_date, NULL, start_time, end_time
+          FROM branch_master.appointment
+          WHERE branch_id = :branchId
+            AND appointment_date BETWEEN :startDate AND :endDate
+            AND status = 'BOOKED'
+          UNION ALL
+          SELECT 'U', NULL, NULL, date, NULL, start_time, end_time
+          FROM branch_master.resource_unavailability
+          WHERE branch_id = :branchId
+            AND date BETWEEN :startDate AND :endDate
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public Optional<AvailabilitySnapshot> load(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    SnapshotBuilder builder = new SnapshotBuilder();
+
+    jdbcTemplate.query(
+        SNAPSHOT_QUERY,
+        Map.of("branchId", branchId, "startDate", startDate, "endDate", endDate),
+        builder::accept);
+
+    return builder.build();
+  }
+
+  private static class SnapshotBuilder {
+    private Integer timeslotLength;
+    private final List<OpeningHours> openingHours = new ArrayList<>();
+    private final List<ResourceWindow> resourceAvailabilities = new ArrayList<>();
+    private final List<Interval> bookedAppointments = new ArrayList<>();
+    private final List<Interval> resourceUnavailabilities = new ArrayList<>();
+
+    void accept(ResultSet rs) throws SQLException {
+      switch (rs.getString("kind")) {
+        case "B" -> timeslotLength = rs.getInt("timeslot_length");
+        case "H" ->
+            openingHours.add(
+                new OpeningHours(
+                    rs.getInt("day_of_week"),
+                    minuteOfDay(rs, "start_time"),
+                    minuteOfDay(rs, "end_time")));
+        case "R" ->
+            resourceAvailabilities.add(
+                new ResourceWindow(
+                    rs.getInt("day_of_week"),
+                    rs.getObject("start_date", LocalDate.class),
+                    rs.getObject("end_date", LocalDate.class),
+                    minuteOfDay(rs, "start_time"),
+                    minuteOfDay(rs, "end_time")));
+        case "A" -> bookedAppointments.add(interval(rs));
+        case "U" -> resourceUnavailabilities.add(interval(rs));
+        default -> throw new IllegalStateException("Unknown snapshot row " + rs.getString("kind"));
+      }
+    }
+
+    Optional<AvailabilitySnapshot> build() {
+      if (timeslotLength == null) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          new AvailabilitySnapshot(
+              timeslotLength,
+              openingHours,
+              resourceAvailabilities,
+              bookedAppointments,
+              resourceUnavailabilities));
+    }
+
+    private static Interval interval(ResultSet rs) throws SQLException {
+      return new Interval(
+          rs.getObject("start_date", LocalDate.class),
+          minuteOfDay(rs, "start_time"),
+          minuteOfDay(rs, "end_time"));
+    }
+
+    private static int minuteOfDay(ResultSet rs, String column) throws SQLException {
+      LocalTime time = rs.getObject(column, LocalTime.class);
+      return time == null ? Interval.WHOLE_DAY : time.toSecondOfDay() / 60;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package branchmaster.repository;
+
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-branch data version, read by primary key. Every bump takes a fresh value from one sequence,
+ * so versions only grow and two bumps never produce the same value.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class BranchDataVersionRepository {
+
+  private static final String FIND =
+      "SELECT version FROM branch_master.branch_data_version WHERE branch_id = :branchId";
+
+  private static final String BUMP =
+      """
+          INSERT INTO branch_master.branch_data_version (branch_id, version)
+          VALUES (:branchId, nextval('branch_master.branch_data_version_seq'))
+          ON CONFLICT (branch_id) DO UPDATE
+          SET version = EXCLUDED.version,
+              updated_at = now()
+          RETURNING version
+      """;
+
+  private static final String BUMP_ALL =
+      """
+          UPDATE branch_master.branch_data_version
+          SET version = nextval('branch_master.branch_data_version_seq'),
+              updated_at = now()
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public Optional<Long> find(Long branchId) {
+    List<Long> versions = jdbcTemplate.queryForList(FIND, Map.of("branchId", branchId), Long.class);
+    return versions.stream().findFirst();
+  }
+
+  public long bump(Long branchId) {
+    return jdbcTemplate.queryForObject(BUMP, Map.of("branchId", branchId), Long.class);
+  }
+
+  public int bumpAll() {
+    return jdbcTemplate.update(BUMP_ALL, Map.of());
+  }
+}
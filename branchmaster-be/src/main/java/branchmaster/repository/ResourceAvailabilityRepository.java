@@ -2,7 +2,6 @@ package branchmaster.repository;
 
 import branchmaster.repository.entity.ResourceAvailabilityEntity;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -14,14 +13,8 @@ public interface ResourceAvailabilityRepository
   @Query(
       """
                     SELECT * FROM branch_master.resource_availability
-                    WHERE
-                        branch_id = :branchId AND
-                        (start_date IS NULL OR
-                        end_date IS NULL OR
-                        start_date BETWEEN :startDate AND :endDate OR
-                        end_date BETWEEN :startDate AND :endDate OR
-                        (start_date < :startDate AND end_date > :endDate))
-
+                    WHERE branch_id = :branchId
+                      AND validity && daterange(CAST(:startDate AS date), CAST(:endDate AS date), '[]')
                     """)
   List<ResourceAvailabilityEntity> getAvailabilitiesForBranchBetweenDates(
       @Param("branchId") Long branchId,
@@ -29,18 +22,4 @@ public interface ResourceAvailabilityRepository
       @Param("endDate") LocalDate endDate);
 
   List<ResourceAvailabilityEntity> findAllByBranchId(Long branchId);
-
-  @Query(
-      """
-                  SELECT *
-                  FROM branch_master.resource_availability
-                  WHERE branch_id = :branchId
-                    AND day_of_week = :dayOfWeek
-                    AND start_date <= :date
-                    AND end_date >= :date
-                    AND start_time <= :startTime
-                    AND end_time >= :endTime
-          """)
-  List<ResourceAvailabilityEntity> findForBranchOnDate(
-      Long branchId, int dayOfWeek, LocalDate date, LocalTime startTime, LocalTime endTime);
 }
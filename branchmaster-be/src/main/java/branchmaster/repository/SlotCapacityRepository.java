@@ -0,0 +1,199 @@
+package branchmaster.repository;
+
+import branchmaster.repository.model.SlotCapacity;
+import io.micrometer.core.annotation.Timed;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Materialised per-slot capacity. A {@code slot_capacity_day} row marks a branch-day as built, so a
+ * built day without slot rows is a closed day rather than a missing one. Writers serialise per
+ * branch on a transaction-scoped advisory lock: incremental updates take it shared, rebuilds take
+ * it exclusive so they never overwrite a change that has not committed yet.
+ */
+@Repository
+@Timed("branchmaster.repository.query")
+@RequiredArgsConstructor
+public class SlotCapacityRepository {
+
+  private static final String LOCK_SHARED =
+      "SELECT pg_advisory_xact_lock_shared(hashtext('branch_master.slot_capacity'), CAST(:branchId AS int))";
+
+  private static final String LOCK_EXCLUSIVE =
+      "SELECT pg_advisory_xact_lock(hashtext('branch_master.slot_capacity'), CAST(:branchId AS int))";
+
+  private static final String FIND_BUILT =
+      """
+          SELECT d.date, c.slot_start, c.slot_end, c.capacity, c.booked, c.blocked
+          FROM branch_master.slot_capacity_day d
+          LEFT JOIN branch_master.slot_capacity c
+            ON c.branch_id = d.branch_id
+           AND c.date = d.date
+          WHERE d.branch_id = :branchId
+            AND d.date BETWEEN :startDate AND :endDate
+          ORDER BY d.date, c.slot_start
+      """;
+
+  private static final String DELETE_DAYS =
+      """
+          DELETE FROM branch_master.slot_capacity_day
+          WHERE branch_id = :branchId
+            AND date BETWEEN :startDate AND :endDate
+      """;
+
+  private static final String INSERT_DAY =
+      """
+          INSERT INTO branch_master.slot_capacity_day (branch_id, date)
+          VALUES (:branchId, :date)
+      """;
+
+  private static final String INSERT_SLOT =
+      """
+          INSERT INTO branch_master.slot_capacity
+              (branch_id, date, slot_start, slot_end, capacity, booked, blocked)
+          VALUES (:branchId, :date, :slotStart, :slotEnd, :capacity, :booked, :blocked)
+      """;
+
+  private static final String ADJUST_BOOKED =
+      """
+          UPDATE branch_master.slot_capacity
+          SET booked = GREATEST(booked + :delta, 0)
+          WHERE branch_id = :branchId
+            AND date = :date
+            AND slot_start < :endTime
+            AND slot_end > :startTime
+      """;
+
+  private static final String ADJUST_BLOCKED =
+      """
+          UPDATE branch_master.slot_capacity
+          SET blocked = GREATEST(blocked + :delta, 0)
+          WHERE branch_id = :branchId
+            AND date = :date
+            AND (CAST(:endTime AS time) IS NULL OR slot_start < :endTime)
+            AND (CAST(:startTime AS time) IS NULL OR slot_end > :startTime)
+      """;
+
+  private static final String DELETE_BRANCH =
+      "DELETE FROM branch_master.slot_capacity_day WHERE branch_id = :branchId";
+
+  private static final String DELETE_BEFORE =
+      "DELETE FROM branch_master.slot_capacity_day WHERE date < :date";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public void lockShared(Long branchId) {
+    jdbcTemplate.execute(
+        LOCK_SHARED,
+        Map.of("branchId", branchId),
+        (PreparedStatementCallback<Boolean>) ps -> ps.execute());
+  }
+
+  public void lockExclusive(Long branchId) {
+    jdbcTemplate.execute(
+        LOCK_EXCLUSIVE,
+        Map.of("branchId", branchId),
+        (PreparedStatementCallback<Boolean>) ps -> ps.execute());
+  }
+
+  /** Returns every built date in the range, in date order; closed days map to an empty list. */
+  public Map<LocalDate, List<SlotCapacity>> findBuilt(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    Map<LocalDate, List<SlotCapacity>> result = new LinkedHashMap<>();
+
+    jdbcTemplate.query(
+        FIND_BUILT,
+        Map.of("branchId", branchId, "startDate", startDate, "endDate", endDate),
+        rs -> {
+          List<SlotCapacity> day =
+              result.computeIfAbsent(
+                  rs.getObject("date", LocalDate.class), date -> new ArrayList<>());
+          LocalTime slotStart = rs.getObject("slot_start", LocalTime.class);
+          if (slotStart != null) {
+            day.add(
+                new SlotCapacity(
+                    slotStart,
+                    rs.getObject("slot_end", LocalTime.class),
+                    rs.getInt("capacity"),
+                    rs.getInt("booked"),
+                    rs.getInt("blocked")));
+          }
+        });
+
+    return result;
+  }
+
+  /**
+   * Replaces the range with {@code capacityByDate}; dates missing from the map are built closed.
+   */
+  public void replace(
+      Long branchId,
+      LocalDate startDate,
+      LocalDate endDate,
+      Map<LocalDate, List<SlotCapacity>> capacityByDate) {
+    jdbcTemplate.update(
+        DELETE_DAYS, Map.of("branchId", branchId, "startDate", startDate, "endDate", endDate));
+
+    List<SqlParameterSource> days = new ArrayList<>();
+    List<SqlParameterSource> slots = new ArrayList<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      days.add(new MapSqlParameterSource().addValue("branchId", branchId).addValue("date", date));
+      for (SlotCapacity slot : capacityByDate.getOrDefault(date, List.of())) {
+        slots.add(
+            new MapSqlParameterSource()
+                .addValue("branchId", branchId)
+                .addValue("date", date)
+                .addValue("slotStart", slot.slotStart())
+                .addValue("slotEnd", slot.slotEnd())
+                .addValue("capacity", slot.capacity())
+                .addValue("booked", slot.booked())
+                .addValue("blocked", slot.blocked()));
+      }
+    }
+
+    jdbcTemplate.batchUpdate(INSERT_DAY, days.toArray(SqlParameterSource[]::new));
+    if (!slots.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SLOT, slots.toArray(SqlParameterSource[]::new));
+    }
+  }
+
+  public int adjustBooked(
+      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime, int delta) {
+    return jdbcTemplate.update(ADJUST_BOOKED, interval(branchId, date, startTime, endTime, delta));
+  }
+
+  /** A null start or end time leaves the unavailability open on that side, as in the schedule. */
+  public int adjustBlocked(
+      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime, int delta) {
+    return jdbcTemplate.update(ADJUST_BLOCKED, interval(branchId, date, startTime, endTime, delta));
+  }
+
+  public int deleteBranch(Long branchId) {
+    return jdbcTemplate.update(DELETE_BRANCH, Map.of("branchId", branchId));
+  }
+
+  public int deleteBefore(LocalDate date) {
+    return jdbcTemplate.update(DELETE_BEFORE, Map.of("date", date));
+  }
+
+  private static SqlParameterSource interval(
+      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime, int delta) {
+    return new MapSqlParameterSource()
+        .addValue("branchId", branchId)
+        .addValue("date", date)
+        .addValue("startTime", startTime, Types.TIME)
+        .addValue("endTime", endTime, Types.TIME)
+        .addValue("delta", delta);
+  }
+}
@@ -0,0 +1,32 @@
+package branchmaster.repository.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything the availability computation needs for one branch and date range, with times stored as
+ * minutes of the day.
+ */
+public record AvailabilitySnapshot(
+    int timeslotLength,
+    List<OpeningHours> openingHours,
+    List<ResourceWindow> resourceAvailabilities,
+    List<Interval> bookedAppointments,
+    List<Interval> resourceUnavailabilities) {
+
+  public record OpeningHours(int dayOfWeek, int openingMinute, int closingMinute) {}
+
+  public record ResourceWindow(
+      int dayOfWeek, LocalDate startDate, LocalDate endDate, int startMinute, int endMinute) {
+
+    public boolean isValidOn(LocalDate date) {
+      return (startDate == null || !startDate.isAfter(date))
+          && (endDate == null || !endDate.isBefore(date));
+    }
+  }
+
+  /** A start or end minute of {@link #WHOLE_DAY} means the interval is open on that side. */
+  public record Interval(LocalDate date, int startMinute, int endMinute) {
+    public static final int WHOLE_DAY = -1;
+  }
+}
@@ -0,0 +1,15 @@
+package branchmaster.repository.model;
+
+import java.time.LocalTime;
+
+/**
+ * Capacity of one timeslot: the number of resources covering the whole slot, and the number of
+ * bookings and resource unavailabilities overlapping it.
+ */
+public record SlotCapacity(
+    LocalTime slotStart, LocalTime slotEnd, int capacity, int booked, int blocked) {
+
+  public boolean isAvailable() {
+    return capacity - booked - blocked > 0;
+  }
+}
@@ -0,0 +1,147 @@
+package branchmaster.service;
+
+import branchmaster.repository.AppointmentExportRepository;
+import branchmaster.service.model.AppointmentDto;
+import branchmaster.service.model.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams appointments straight from keyset chunks to the response, so memory is bounded by one
+ * chunk however long the range is.
+ */
+@Service
+@Slf4j
+public class AppointmentExportService {
+
+  private static final String CSV_HEADER =
+      "id,branchId,appointmentDate,startTime,endTime,status,createdAt,name,email,phoneNumber,reason";
+
+  private final AppointmentExportRepository appointmentExportRepository;
+  private final ObjectMapper objectMapper;
+  private final int chunkSize;
+
+  public AppointmentExportService(
+      AppointmentExportRepository appointmentExportRepository,
+      ObjectMapper objectMapper,
+      @Value("${app.export.chunk-size:2000}") int chunkSize) {
+    this.appointmentExportRepository = appointmentExportRepository;
+    this.objectMapper = objectMapper;
+    this.chunkSize = chunkSize;
+  }
+
+  public void export(
+      ExportFormat format,
+      Long branchId,
+      LocalDate startDate,
+      LocalDate endDate,
+      OutputStream outputStream)
+      throws IOException {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+
+    LocalDate afterDate = startDate.minusDays(1);
+    long afterId = 0;
+    long exported = 0;
+    AppointmentDto[] last = new AppointmentDto[1];
+    try {
+      int read;
+      do {
+        read =
+            appointmentExportRepository.readChunk(
+                branchId,
+                startDate,
+                endDate,
+                afterDate,
+                afterId,
+                chunkSize,
+                appointment -> {
+                  write(writer, format, appointment);
+                  last[0] = appointment;
+                });
+        if (read > 0) {
+          afterDate = last[0].appointmentDate();
+          afterId = last[0].id();
+          exported += read;
+          writer.flush();
+        }
+      } while (read == chunkSize);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+
+    log.info(
+        "Exported [{}] appointments for branchId=[{}] between [{}] and [{}] as [{}]",
+        exported,
+        branchId,
+        startDate,
+        endDate,
+        format);
+  }
+
+  private void write(Writer writer, ExportFormat format, AppointmentDto appointment) {
+    try {
+      if (format == ExportFormat.NDJSON) {
+        writer.write(objectMapper.writeValueAsString(appointment));
+      } else {
+        writer.write(
+            String.join(
+                ",",
+                String.valueOf(appointment.id()),
+                String.valueOf(appointment.branchId()),
+                String.valueOf(appointment.appointmentDate()),
+                String.valueOf(appointment.startTime()),
+                String.valueOf(appointment.endTime()),
+                csv(appointment.status()),
+                csv(appointment.createdAt()),
+                csv(neutralise(appointment.name())),
+                csv(neutralise(appointment.email())),
+                csv(neutralise(appointment.phoneNumber())),
+                csv(neutralise(appointment.reason()))));
+      }
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Customer-supplied text starting with a formula trigger gets a leading {@code '}, so a
+   * spreadsheet opening the file shows it as text instead of evaluating it.
+   */
+  static String neutralise(String value) {
+    if (value == null || value.isEmpty() || "=+-@\t\r".indexOf(value.charAt(0)) < 0) {
+      return value;
+    }
+    return "'" + value;
+  }
+
+  private static String csv(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value.toString();
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,82 @@
+package branchmaster.service;
+
+import branchmaster.repository.AppointmentPartitionRepository;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly appointment partitions ahead of the booking horizon and, when retention is set,
+ * archives months past it. Runs at startup as well, so a fresh database never rejects a booking for
+ * lack of a partition. Archiving is off by default: detached months leave the live table and every
+ * query and export that reads it.
+ */
+@Slf4j
+@Component
+public class AppointmentPartitionManager {
+
+  private final AppointmentPartitionRepository appointmentPartitionRepository;
+  private final int monthsAhead;
+  private final int retentionMonths;
+
+  public AppointmentPartitionManager(
+      AppointmentPartitionRepository appointmentPartitionRepository,
+      @Value("${app.appointment.partitions.months-ahead:12}") int monthsAhead,
+      @Value("${app.appointment.partitions.retention-months:0}") int retentionMonths) {
+    this.appointmentPartitionRepository = appointmentPartitionRepository;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+  }
+
+  /**
+   * Whether a booking on {@code date} has a partition. The last month of the horizon is left out,
+   * as its partition is only created by the first maintenance run of the month.
+   */
+  public boolean isBookable(LocalDate date) {
+    return date.isBefore(LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    maintainPartitions();
+  }
+
+  @Scheduled(cron = "${app.appointment.partitions.maintain-cron:0 30 1 * * *}")
+  public void maintainPartitions() {
+    maintainPartitions(LocalDate.now());
+  }
+
+  void maintainPartitions(LocalDate today) {
+    LocalDate currentMonth = today.withDayOfMonth(1);
+
+    for (int month = 0; month <= monthsAhead; month++) {
+      try {
+        appointmentPartitionRepository.ensurePartition(currentMonth.plusMonths(month));
+      } catch (Exception e) {
+        log.error(
+            "Failed to create appointment partition for month=[{}]",
+            currentMonth.plusMonths(month),
+            e);
+      }
+    }
+
+    if (retentionMonths <= 0) {
+      return;
+    }
+    try {
+      List<String> archived =
+          appointmentPartitionRepository.archivePartitionsBefore(
+              currentMonth.minusMonths(retentionMonths));
+      if (!archived.isEmpty()) {
+        log.info("Archived appointment partitions {}", archived);
+      }
+    } catch (Exception e) {
+      log.error("Failed to archive appointment partitions", e);
+    }
+  }
+}
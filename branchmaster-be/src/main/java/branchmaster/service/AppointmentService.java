@@ -1,54 +1,149 @@
 package branchmaster.service;
 
 import branchmaster.controller.v1.model.CreateAppointmentRequest;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.OutboxService;
 import branchmaster.repository.AppointmentRepository;
-import branchmaster.repository.BranchOperatingHoursRepository;
-import branchmaster.repository.BranchRepository;
-import branchmaster.repository.ResourceAvailabilityRepository;
-import branchmaster.repository.ResourceUnavailabilityRepository;
+import branchmaster.repository.AppointmentReservationRepository;
 import branchmaster.repository.entity.AppointmentEntity;
 import branchmaster.repository.entity.BookingStatus;
-import branchmaster.repository.entity.BranchEntity;
-import branchmaster.repository.entity.BranchOperatingHoursEntity;
-import branchmaster.repository.entity.ResourceAvailabilityEntity;
-import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.service.availability.AvailabilityCache;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.availability.BranchDataVersionService;
+import branchmaster.service.availability.SlotCapacityService;
+import branchmaster.service.booking.BookingBatcher;
+import branchmaster.service.booking.BookingLockManager;
 import branchmaster.service.mapper.AppointmentMapper;
+import branchmaster.service.metrics.AppointmentMetrics;
 import branchmaster.service.model.AppointmentDto;
-import branchmaster.service.model.AvailabilityStatus;
 import branchmaster.service.model.Timeslot;
 import branchmaster.web.exception.NoAvailableResourceException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AppointmentService {
 
-  private final ResourceAvailabilityRepository resourceAvailabilityRepository;
-  private final BranchRepository branchRepository;
-  private final AppointmentRepository appointmentRepository;
-  private final BranchOperatingHoursRepository branchOperatingHoursRepository;
-  private final ResourceUnavailabilityRepository resourceUnavailabilityRepository;
+  private static final int RESERVATION_ATTEMPTS = 3;
 
+  private final AppointmentRepository appointmentRepository;
+  private final AppointmentReservationRepository appointmentReservationRepository;
+  private final SlotCapacityService slotCapacityService;
+  private final AvailabilityCache availabilityCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final BookingLockManager bookingLockManager;
+  private final BookingBatcher bookingBatcher;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxService outboxService;
+  private final AppointmentMetrics appointmentMetrics;
+  private final AppointmentPartitionManager appointmentPartitionManager;
+  private final BranchDataVersionService branchDataVersionService;
+
+  /**
+   * With batching enabled, concurrent bookings for a branch are placed together in one transaction,
+   * and a batch that fails is placed again one booking per transaction; otherwise each booking runs
+   * under the branch-day lock, held until its transaction commits so waiters see the new booking.
+   */
   public AppointmentDto createAppointment(CreateAppointmentRequest req) {
-    Optional<ResourceAvailabilityEntity> openResource =
-        pickFreeResource(req.branchId(), req.appointmentDate(), req.startTime(), req.endTime());
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      if (!appointmentPartitionManager.isBookable(req.appointmentDate())) {
+        throw new IllegalArgumentException("appointmentDate is too far ahead to book");
+      }
+      AppointmentDto appointment = placeAppointment(req);
+      outcome = "booked";
+      return appointment;
+    } catch (IllegalArgumentException e) {
+      outcome = "invalid";
+      throw e;
+    } catch (NoAvailableResourceException e) {
+      outcome = "no_resource";
+      throw e;
+    } catch (DataIntegrityViolationException e) {
+      outcome = "conflict";
+      throw e;
+    } finally {
+      appointmentMetrics.recordBooking(req.branchId(), outcome, System.nanoTime() - start);
+    }
+  }
+
+  private AppointmentDto placeAppointment(CreateAppointmentRequest req) {
+    if (bookingBatcher.isEnabled()) {
+      return bookingBatcher
+          .submit(req.branchId(), req, this::bookAppointments)
+          .orElseThrow(
+              () ->
+                  new NoAvailableResourceException(
+                      "Could not create appointment, duplicate entry."));
+    }
 
-    if (openResource.isEmpty()) {
+    return bookingLockManager.withLock(
+        req.branchId(),
+        req.appointmentDate(),
+        () -> transactionTemplate.execute(status -> bookAppointment(req)));
+  }
+
+  private AppointmentDto bookAppointment(CreateAppointmentRequest req) {
+    Optional<AppointmentEntity> reserved = reserve(toEntity(req));
+
+    if (reserved.isEmpty()) {
       throw new NoAvailableResourceException("Could not create appointment, duplicate entry.");
     }
 
+    return booked(reserved.get());
+  }
+
+  private List<Optional<AppointmentDto>> bookAppointments(List<CreateAppointmentRequest> reqs) {
+    return transactionTemplate.execute(
+        status -> {
+          List<AppointmentEntity> entities = reqs.stream().map(this::toEntity).toList();
+          List<Optional<AppointmentEntity>> reserved =
+              appointmentReservationRepository.reserveAll(reqs.getFirst().branchId(), entities);
+
+          List<Optional<AppointmentDto>> results = new ArrayList<>(reqs.size());
+          for (int i = 0; i < entities.size(); i++) {
+            Optional<AppointmentEntity> appointment =
+                reserved.get(i).isPresent() ? reserved.get(i) : reserve(entities.get(i));
+            results.add(appointment.map(this::booked));
+          }
+          return results;
+        });
+  }
+
+  private AppointmentDto booked(AppointmentEntity appointment) {
+    slotCapacityService.adjustBooked(
+        appointment.getBranchId(),
+        appointment.getAppointmentDate(),
+        appointment.getStartTime(),
+        appointment.getEndTime(),
+        1);
+
+    eventPublisher.publishEvent(
+        AvailabilityChangedEvent.forDate(
+            appointment.getBranchId(), appointment.getAppointmentDate()));
+
+    AppointmentDto dto = AppointmentMapper.INSTANCE.map(appointment);
+    outboxService.append(OutboxEventType.APPOINTMENT_BOOKED, dto.id(), dto);
+    return dto;
+  }
+
+  private AppointmentEntity toEntity(CreateAppointmentRequest req) {
     AppointmentEntity entity = new AppointmentEntity();
     entity.setCreatedAt(LocalDateTime.now());
     entity.setAppointmentDate(req.appointmentDate());
@@ -60,144 +155,95 @@ public class AppointmentService {
     entity.setName(req.name());
     entity.setEmail(req.email());
     entity.setPhoneNumber(req.phoneNumber());
-    entity.setResourceAvailabilityId(openResource.get().getId());
-
-    return AppointmentMapper.INSTANCE.map(appointmentRepository.save(entity));
+    return entity;
   }
 
-  public Map<LocalDate, List<Timeslot>> getAvailableAppointments(
-      Long branchId, LocalDate startDate, LocalDate endDate) {
-    Optional<BranchEntity> branch = branchRepository.findById(branchId);
-
-    if (branch.isEmpty()) {
-      log.error("Branch not found for branchId=[{}]", branchId);
-      throw new RuntimeException("Branch not found");
+  /**
+   * The first attempt skips resources another booking is claiming, so a burst for one slot spreads
+   * across resources. Later attempts wait for those claims to settle and re-check what is left.
+   */
+  private Optional<AppointmentEntity> reserve(AppointmentEntity entity) {
+    int dayOfWeek = entity.getAppointmentDate().getDayOfWeek().getValue() - 1;
+
+    for (int attempt = 0; attempt < RESERVATION_ATTEMPTS; attempt++) {
+      Optional<AppointmentEntity> reserved =
+          appointmentReservationRepository.reserve(entity, dayOfWeek, attempt == 0);
+      appointmentMetrics.recordReservationAttempt(attempt + 1, reserved.isPresent());
+      if (reserved.isPresent()) {
+        return reserved;
+      }
+      log.debug(
+          "No resource claimed for branchId=[{}] on [{}] at [{}], attempt [{}]",
+          entity.getBranchId(),
+          entity.getAppointmentDate(),
+          entity.getStartTime(),
+          attempt + 1);
     }
 
-    Map<LocalDate, List<Timeslot>> result = new LinkedHashMap<>();
-
-    final int timeslotLength = branch.get().getTimeslotLength();
-
-    List<BranchOperatingHoursEntity> operatingHoursForWeek =
-        branchOperatingHoursRepository.getOpenByBranchId(branchId);
+    return Optional.empty();
+  }
 
-    List<ResourceAvailabilityEntity> resourceAvailabilities =
-        resourceAvailabilityRepository.getAvailabilitiesForBranchBetweenDates(
-            branchId, startDate, endDate);
-    List<AppointmentEntity> bookedAppointments =
-        appointmentRepository.findForBranchBetweenDates(branchId, startDate, endDate);
+  public Map<LocalDate, List<Timeslot>> getAvailableAppointments(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    return getAvailableAppointments(
+        branchId, startDate, endDate, branchDataVersionService.current(branchId));
+  }
 
-    List<ResourceUnavailabilityEntity> resourceUnavailability =
-        resourceUnavailabilityRepository.findForBranchBetweenDates(branchId, startDate, endDate);
+  /**
+   * {@code dataVersion} must have been read before this call; cached days computed under any other
+   * version are computed again.
+   */
+  public Map<LocalDate, List<Timeslot>> getAvailableAppointments(
+      Long branchId, LocalDate startDate, LocalDate endDate, long dataVersion) {
+    long start = System.nanoTime();
+    long generation = availabilityCache.generation(branchId);
 
+    Map<LocalDate, List<Timeslot>> cached = new HashMap<>();
+    LocalDate firstMissing = null;
+    LocalDate lastMissing = null;
     for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-      int dayOfWeek = date.getDayOfWeek().getValue() - 1;
-      Map<LocalDateTime, Integer> availableTimeslots =
-          initialiseTimeslots(timeslotLength, operatingHoursForWeek, date);
-
-      Optional<BranchOperatingHoursEntity> operatingHoursForDay =
-          operatingHoursForWeek.stream().filter(oh -> oh.getDayOfWeek() == dayOfWeek).findFirst();
-
-      if (operatingHoursForDay.isEmpty()) {
-        continue;
-      }
-
-      List<ResourceAvailabilityEntity> resourceAvailabilitiesFilteredForDay =
-          resourceAvailabilities.stream()
-              .filter(availability -> availability.getDayOfWeek() == dayOfWeek)
-              .toList();
-
-      LocalDate dateTmp = date;
-      List<ResourceUnavailabilityEntity> resourceUnavailabilitiesFilteredForDay =
-          resourceUnavailability.stream()
-              .filter(availability -> availability.getDate().equals(dateTmp))
-              .toList();
-
-      for (ResourceAvailabilityEntity employeeAvailability : resourceAvailabilitiesFilteredForDay) {
-        LocalTime time = employeeAvailability.getStartTime();
-
-        while (!time.isAfter(employeeAvailability.getEndTime().minusMinutes(timeslotLength))) {
-          LocalDateTime slotStartTime = LocalDateTime.of(date, time);
-          availableTimeslots.merge(slotStartTime, 1, Integer::sum);
-          time = time.plusMinutes(timeslotLength);
-        }
-      }
-
-      LocalDate finalDate = date;
-      List<AppointmentEntity> bookedForDay =
-          bookedAppointments.stream()
-              .filter(a -> finalDate.equals(a.getAppointmentDate()))
-              .toList();
-
-      for (AppointmentEntity appt : bookedForDay) {
-        LocalTime startTime = appt.getStartTime();
-        while (!startTime.isAfter(appt.getEndTime().minusMinutes(timeslotLength))) {
-          LocalDateTime s = LocalDateTime.of(date, startTime);
-          availableTimeslots.computeIfPresent(s, (k, v) -> v - 1);
-          startTime = startTime.plusMinutes(timeslotLength);
-        }
-      }
-
-      for (ResourceUnavailabilityEntity employeeUnavailability :
-          resourceUnavailabilitiesFilteredForDay) {
-        LocalTime time = employeeUnavailability.getStartTime();
-
-        while (!time.isAfter(employeeUnavailability.getEndTime().minusMinutes(timeslotLength))) {
-          LocalDateTime slotStartTime = LocalDateTime.of(date, time);
-          availableTimeslots.merge(slotStartTime, -1, Integer::sum);
-          time = time.plusMinutes(timeslotLength);
-        }
+      List<Timeslot> timeslots = availabilityCache.get(branchId, date, dataVersion);
+      if (timeslots == null) {
+        firstMissing = firstMissing == null ? date : firstMissing;
+        lastMissing = date;
+      } else {
+        cached.put(date, timeslots);
       }
+    }
 
-      if (!availableTimeslots.isEmpty()) {
-        List<Timeslot> timeslots =
-            availableTimeslots.entrySet().stream()
-                .<Timeslot>map(
-                    slot -> {
-                      LocalTime start = slot.getKey().toLocalTime();
-                      LocalTime end = start.plusMinutes(timeslotLength);
-
-                      AvailabilityStatus status =
-                          slot.getValue() <= 0
-                              ? AvailabilityStatus.FULLY_BOOKED
-                              : AvailabilityStatus.AVAILABLE;
-
-                      return Timeslot.builder()
-                          .startTime(start)
-                          .endTime(end)
-                          .status(status)
-                          .build();
-                    })
-                .toList();
+    Map<LocalDate, List<Timeslot>> computed =
+        firstMissing == null
+            ? Map.of()
+            : computeAvailableAppointments(
+                branchId, firstMissing, lastMissing, generation, dataVersion);
 
+    Map<LocalDate, List<Timeslot>> result = new LinkedHashMap<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      List<Timeslot> timeslots = computed.getOrDefault(date, cached.get(date));
+      if (timeslots != null && !timeslots.isEmpty()) {
         result.put(date, timeslots);
       }
     }
 
+    appointmentMetrics.recordAvailability(
+        branchId,
+        startDate,
+        endDate,
+        firstMissing == null ? "hit" : cached.isEmpty() ? "miss" : "partial",
+        computed.values().stream().mapToInt(List::size).sum(),
+        System.nanoTime() - start);
+
     return result;
   }
 
-  private Optional<ResourceAvailabilityEntity> pickFreeResource(
-      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-    int dayOfWeek = date.getDayOfWeek().getValue() - 1;
+  private Map<LocalDate, List<Timeslot>> computeAvailableAppointments(
+      Long branchId, LocalDate startDate, LocalDate endDate, long generation, long dataVersion) {
+    Map<LocalDate, List<Timeslot>> computed =
+        slotCapacityService.getTimeslots(branchId, startDate, endDate);
 
-    List<ResourceAvailabilityEntity> candidates =
-        resourceAvailabilityRepository.findForBranchOnDate(
-            branchId, dayOfWeek, date, startTime, endTime);
+    availabilityCache.putAll(branchId, generation, dataVersion, computed);
 
-    if (candidates.isEmpty()) return Optional.empty();
-
-    List<Long> unavailableIds =
-        resourceUnavailabilityRepository.findUnavailableResourceIdsForSlot(
-            branchId, date, startTime, endTime);
-
-    List<Long> bookedIds =
-        appointmentRepository.findBookedResourceIdsForSlot(branchId, date, startTime, endTime);
-
-    return candidates.stream()
-        .filter(r -> unavailableIds == null || !unavailableIds.contains(r.getId()))
-        .filter(r -> bookedIds == null || !bookedIds.contains(r.getId()))
-        .findFirst();
+    return computed;
   }
 
   public List<AppointmentDto> getBookingsForBranchDay(Long branchId, LocalDate date) {
@@ -211,50 +257,50 @@ public class AppointmentService {
     return AppointmentMapper.INSTANCE.map(appointmentEntities);
   }
 
+  /**
+   * The status flips with a conditional update, so only the cancel that changed the row releases
+   * the slot and records the event.
+   */
+  @Transactional
   public void cancelAppointment(Long bookingId) {
     AppointmentEntity appointmentEntity = appointmentRepository.findById(bookingId).orElse(null);
 
     if (appointmentEntity == null) {
+      appointmentMetrics.recordCancellation("not_found");
       log.error("Appointment with id {} not found", bookingId);
       throw new RuntimeException("Appointment not found");
     }
 
     if (appointmentEntity.getStatus() != BookingStatus.BOOKED) {
+      appointmentMetrics.recordCancellation("not_booked");
       log.error("Appointment with id {} is already booked", bookingId);
       throw new RuntimeException("Appointment is not in a booked state");
     }
 
-    appointmentEntity.setStatus(BookingStatus.USER_CANCELLED);
-
-    appointmentRepository.save(appointmentEntity);
-  }
-
-  private Map<LocalDateTime, Integer> initialiseTimeslots(
-      int timeslotLength, List<BranchOperatingHoursEntity> operatingHoursForWeek, LocalDate date) {
-    Map<LocalDateTime, Integer> availableTimeslots = new TreeMap<>();
-
-    int dayOfWeek = date.getDayOfWeek().getValue() - 1;
-    Optional<BranchOperatingHoursEntity> operatingHours =
-        operatingHoursForWeek.stream()
-            .filter(entity -> entity.getDayOfWeek() == dayOfWeek)
-            .findFirst();
-
-    if (operatingHours.isEmpty()) {
-      return availableTimeslots;
+    if (appointmentRepository.cancelBooked(bookingId) != 1) {
+      appointmentMetrics.recordCancellation("not_booked");
+      log.error("Appointment with id {} was cancelled concurrently", bookingId);
+      throw new RuntimeException("Appointment is not in a booked state");
     }
 
-    LocalTime time = operatingHours.get().getOpeningTime();
-    LocalTime closingTime = operatingHours.get().getClosingTime();
-
-    while (!time.isAfter(closingTime.minusMinutes(timeslotLength))) {
+    appointmentEntity.setStatus(BookingStatus.USER_CANCELLED);
 
-      LocalDateTime slotStart = LocalDateTime.of(date, time);
+    slotCapacityService.adjustBooked(
+        appointmentEntity.getBranchId(),
+        appointmentEntity.getAppointmentDate(),
+        appointmentEntity.getStartTime(),
+        appointmentEntity.getEndTime(),
+        -1);
 
-      availableTimeslots.put(slotStart, 0);
+    eventPublisher.publishEvent(
+        AvailabilityChangedEvent.forDate(
+            appointmentEntity.getBranchId(), appointmentEntity.getAppointmentDate()));
 
-      time = time.plusMinutes(timeslotLength);
-    }
+    outboxService.append(
+        OutboxEventType.APPOINTMENT_CANCELLED,
+        bookingId,
+        AppointmentMapper.INSTANCE.map(appointmentEntity));
 
-    return availableTimeslots;
+    appointmentMetrics.recordCancellation("cancelled");
   }
 }
@@ -0,0 +1,186 @@
+package branchmaster.service;
+
+import branchmaster.repository.BranchRepository;
+import branchmaster.repository.entity.BranchEntity;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.FreeSlot;
+import branchmaster.service.model.SlotSearchOrder;
+import branchmaster.service.model.Timeslot;
+import branchmaster.util.GeoUtils;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the earliest or nearest free slots across all active branches. Branch availability is
+ * computed concurrently on virtual threads, bounded by {@code
+ * app.availability.search.max-concurrency}, and the search stops as soon as enough slots are found:
+ * week by week when ranking by time, and batch by batch of nearest branches when ranking by
+ * distance. The date range is capped at {@code app.availability.max-range-days}, as every branch
+ * may end up computing all of it.
+ */
+@Slf4j
+@Service
+public class AvailabilitySearchService {
+
+  private static final int WINDOW_DAYS = 7;
+
+  private static final Comparator<FreeSlot> BY_TIME =
+      Comparator.comparing(FreeSlot::date)
+          .thenComparing(FreeSlot::startTime)
+          .thenComparing(FreeSlot::distanceKm, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(FreeSlot::branchName);
+
+  private static final Comparator<FreeSlot> BY_DISTANCE =
+      Comparator.comparing(FreeSlot::distanceKm, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(FreeSlot::date)
+          .thenComparing(FreeSlot::startTime)
+          .thenComparing(FreeSlot::branchName);
+
+  private final BranchRepository branchRepository;
+  private final AppointmentService appointmentService;
+  private final int maxConcurrency;
+  private final int maxRangeDays;
+
+  public AvailabilitySearchService(
+      BranchRepository branchRepository,
+      AppointmentService appointmentService,
+      @Value("${app.availability.search.max-concurrency:8}") int maxConcurrency,
+      @Value("${app.availability.max-range-days:62}") int maxRangeDays) {
+    this.branchRepository = branchRepository;
+    this.appointmentService = appointmentService;
+    this.maxConcurrency = maxConcurrency;
+    this.maxRangeDays = maxRangeDays;
+  }
+
+  public List<FreeSlot> findFreeSlots(
+      LocalDate startDate,
+      LocalDate endDate,
+      Double latitude,
+      Double longitude,
+      Double radiusKm,
+      int limit,
+      SlotSearchOrder order) {
+    if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+      throw new IllegalArgumentException("A search covers at most " + maxRangeDays + " days");
+    }
+
+    boolean hasLocation = latitude != null && longitude != null;
+
+    if (!hasLocation && (radiusKm != null || order == SlotSearchOrder.DISTANCE)) {
+      throw new IllegalArgumentException("latitude and longitude are required for this search");
+    }
+
+    List<Candidate> candidates = new ArrayList<>();
+    for (BranchEntity branch : branchRepository.getAllActiveBranchesSorted()) {
+      Double distanceKm = null;
+      if (hasLocation && branch.getLatitude() != null && branch.getLongitude() != null) {
+        distanceKm =
+            GeoUtils.distanceKm(latitude, longitude, branch.getLatitude(), branch.getLongitude());
+      }
+      if (radiusKm != null && (distanceKm == null || distanceKm > radiusKm)) {
+        continue;
+      }
+      candidates.add(new Candidate(branch, distanceKm));
+    }
+
+    List<FreeSlot> found = new ArrayList<>();
+
+    if (order == SlotSearchOrder.DISTANCE) {
+      candidates.sort(
+          Comparator.comparing(
+              Candidate::distanceKm, Comparator.nullsLast(Comparator.naturalOrder())));
+      for (int from = 0; from < candidates.size() && found.size() < limit; from += maxConcurrency) {
+        List<Candidate> batch =
+            candidates.subList(from, Math.min(candidates.size(), from + maxConcurrency));
+        found.addAll(collect(batch, startDate, endDate));
+      }
+      found.sort(BY_DISTANCE);
+    } else {
+      for (LocalDate windowStart = startDate;
+          !windowStart.isAfter(endDate) && found.size() < limit;
+          windowStart = windowStart.plusDays(WINDOW_DAYS)) {
+        LocalDate windowEnd = windowStart.plusDays(WINDOW_DAYS - 1);
+        found.addAll(
+            collect(candidates, windowStart, windowEnd.isAfter(endDate) ? endDate : windowEnd));
+      }
+      found.sort(BY_TIME);
+    }
+
+    return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+  }
+
+  private List<FreeSlot> collect(List<Candidate> candidates, LocalDate from, LocalDate to) {
+    Semaphore permits = new Semaphore(maxConcurrency);
+    List<Future<List<FreeSlot>>> futures = new ArrayList<>(candidates.size());
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Candidate candidate : candidates) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  permits.acquire();
+                  try {
+                    return freeSlots(candidate, from, to);
+                  } finally {
+                    permits.release();
+                  }
+                }));
+      }
+    }
+
+    List<FreeSlot> slots = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        slots.addAll(futures.get(i).get());
+      } catch (ExecutionException e) {
+        log.error(
+            "Skipping branchId=[{}] in availability search",
+            candidates.get(i).branch().getId(),
+            e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted during availability search", e);
+      }
+    }
+    return slots;
+  }
+
+  private List<FreeSlot> freeSlots(Candidate candidate, LocalDate from, LocalDate to) {
+    BranchEntity branch = candidate.branch();
+    Map<LocalDate, List<Timeslot>> availability =
+        appointmentService.getAvailableAppointments(branch.getId(), from, to);
+
+    List<FreeSlot> slots = new ArrayList<>();
+    availability.forEach(
+        (date, timeslots) -> {
+          for (Timeslot timeslot : timeslots) {
+            if (timeslot.status() == AvailabilityStatus.AVAILABLE) {
+              slots.add(
+                  FreeSlot.builder()
+                      .branchId(branch.getId())
+                      .branchName(branch.getName())
+                      .date(date)
+                      .startTime(timeslot.startTime())
+                      .endTime(timeslot.endTime())
+                      .distanceKm(candidate.distanceKm())
+                      .build());
+            }
+          }
+        });
+    return slots;
+  }
+
+  private record Candidate(BranchEntity branch, Double distanceKm) {}
+}
@@ -6,6 +6,7 @@ import branchmaster.audit.AdminActionAuditService;
 import branchmaster.audit.entity.ActionType;
 import branchmaster.repository.BranchOperatingHoursRepository;
 import branchmaster.repository.entity.BranchOperatingHoursEntity;
+import branchmaster.service.availability.AvailabilityChangedEvent;
 import branchmaster.service.mapper.BranchOperatingHoursMapper;
 import branchmaster.service.model.BranchOperatingHoursDto;
 import java.util.ArrayList;
@@ -13,7 +14,9 @@ import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,7 @@ public class BranchOperatingHoursService {
 
   private final BranchOperatingHoursRepository branchOperatingHoursRepository;
   private final AdminActionAuditService auditService;
+  private final ApplicationEventPublisher eventPublisher;
 
   public List<BranchOperatingHoursDto> getOperatingHoursForBranch(Long branchId) {
     List<BranchOperatingHoursEntity> branchOperatingHoursEntities =
@@ -34,6 +38,7 @@ public class BranchOperatingHoursService {
     return BranchOperatingHoursMapper.INSTANCE.map(branchOperatingHoursEntities);
   }
 
+  @Transactional
   public void updateBranchOperatingHour(UpdateBranchOperatingHoursRequest req) {
     BranchOperatingHoursEntity before =
         branchOperatingHoursRepository.findById(req.id()).orElse(null);
@@ -56,8 +61,11 @@ public class BranchOperatingHoursService {
     auditService.log(
         ActionType.UPDATE_BRANCH_OPERATING_HOURS,
         Map.of("before", beforeSnapshot, "after", afterSnapshot));
+
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forBranch(before.getBranchId()));
   }
 
+  @Transactional
   public BranchOperatingHoursDto createBranchOperatingHour(CreateBranchOperatingHoursRequest req) {
     BranchOperatingHoursEntity entity = new BranchOperatingHoursEntity();
 
@@ -73,6 +81,8 @@ public class BranchOperatingHoursService {
 
     auditService.log(ActionType.CREATE_BRANCH_OPERATING_HOURS, Map.of("after", afterSnapshot));
 
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forBranch(entity.getBranchId()));
+
     return BranchOperatingHoursMapper.INSTANCE.map(entity);
   }
 
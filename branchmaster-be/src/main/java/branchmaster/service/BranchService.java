@@ -6,6 +6,8 @@ import branchmaster.audit.AdminActionAuditService;
 import branchmaster.audit.entity.ActionType;
 import branchmaster.repository.BranchRepository;
 import branchmaster.repository.entity.BranchEntity;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.catalogue.BranchCatalogueChangedEvent;
 import branchmaster.service.mapper.BranchMapper;
 import branchmaster.service.model.BranchDto;
 import java.util.LinkedHashMap;
@@ -14,7 +16,9 @@ import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,7 @@ public class BranchService {
 
   private final BranchRepository branchRepository;
   private final AdminActionAuditService auditService;
+  private final ApplicationEventPublisher eventPublisher;
 
   public List<BranchDto> getAllOpenBranches() {
     List<BranchEntity> branchEntities = branchRepository.getAllActiveBranchesSorted();
@@ -57,6 +62,7 @@ public class BranchService {
     return BranchMapper.INSTANCE.map(branchEntity.get());
   }
 
+  @Transactional
   public BranchDto updateBranchAdmin(UpdateBranchRequest req) {
     BranchEntity branchEntity = branchRepository.findById(req.id()).orElse(null);
 
@@ -85,9 +91,13 @@ public class BranchService {
     auditService.log(
         ActionType.UPDATE_BRANCH, Map.of("before", beforeSnapshot, "after", afterSnapshot));
 
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forBranch(branchEntity.getId()));
+    eventPublisher.publishEvent(new BranchCatalogueChangedEvent(branchEntity.getId()));
+
     return BranchMapper.INSTANCE.map(branchEntity);
   }
 
+  @Transactional
   public BranchDto createBranchAdmin(CreateBranchRequest req) {
     BranchEntity branchEntity = new BranchEntity();
 
@@ -109,6 +119,8 @@ public class BranchService {
 
     auditService.log(ActionType.CREATE_BRANCH, Map.of("after", afterSnapshot));
 
+    eventPublisher.publishEvent(new BranchCatalogueChangedEvent(branchEntity.getId()));
+
     return BranchMapper.INSTANCE.map(branchEntity);
   }
 
@@ -6,6 +6,8 @@ import branchmaster.repository.ResourceAvailabilityRepository;
 import branchmaster.repository.ResourceUnavailabilityRepository;
 import branchmaster.repository.entity.ResourceAvailabilityEntity;
 import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.availability.SlotCapacityService;
 import branchmaster.service.mapper.ResourceMapper;
 import branchmaster.service.model.ResourceAvailabilityDto;
 import branchmaster.service.model.ResourceUnavailabilityDto;
@@ -15,9 +17,13 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +33,8 @@ public class ResourceService {
   private final ResourceAvailabilityRepository resourceAvailabilityRepository;
   private final ResourceUnavailabilityRepository resourceUnavailabilityRepository;
   private final AdminActionAuditService auditService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SlotCapacityService slotCapacityService;
 
   public List<ResourceAvailabilityDto> getAvailableResourcesForBranch(Long branchId) {
     List<ResourceAvailabilityEntity> branchEntities =
@@ -39,6 +47,7 @@ public class ResourceService {
     return ResourceMapper.INSTANCE.mapAvailabilities(branchEntities);
   }
 
+  @Transactional
   public ResourceAvailabilityDto createResourceAvailability(
       Long branchId,
       LocalTime startTime,
@@ -62,9 +71,12 @@ public class ResourceService {
 
     auditService.log(ActionType.CREATE_RESOURCE_AVAILABILITY, Map.of("after", afterSnapshot));
 
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forBranch(branchId));
+
     return ResourceMapper.INSTANCE.map(resourceAvailabilityEntity);
   }
 
+  @Transactional
   public void updateResourceAvailability(
       Long id,
       LocalTime startTime,
@@ -97,16 +109,22 @@ public class ResourceService {
     auditService.log(
         ActionType.UPDATE_RESOURCE_AVAILABILITY,
         Map.of("before", beforeSnapshot, "after", afterSnapshot));
+
+    eventPublisher.publishEvent(
+        AvailabilityChangedEvent.forBranch(resourceAvailabilityEntity.getBranchId()));
   }
 
+  @Transactional
   public void deleteResourceAvailability(Long resourceId) {
-    try {
-      resourceAvailabilityRepository.deleteById(resourceId);
+    Optional<ResourceAvailabilityEntity> existing =
+        resourceAvailabilityRepository.findById(resourceId);
 
-      auditService.log(ActionType.DELETE_RESOURCE_AVAILABILITY, Map.of("id", resourceId));
-    } catch (Exception e) {
-      log.error("Something went wrong when deleting resource availability, id=[{}]", resourceId, e);
-    }
+    resourceAvailabilityRepository.deleteById(resourceId);
+
+    auditService.log(ActionType.DELETE_RESOURCE_AVAILABILITY, Map.of("id", resourceId));
+
+    existing.ifPresent(
+        e -> eventPublisher.publishEvent(AvailabilityChangedEvent.forBranch(e.getBranchId())));
   }
 
   public List<ResourceUnavailabilityDto> getUnavailableResourcesForBranch(Long branchId) {
@@ -120,6 +138,7 @@ public class ResourceService {
     return ResourceMapper.INSTANCE.mapUnavailabilities(entities);
   }
 
+  @Transactional
   public ResourceUnavailabilityDto createResourceUnavailability(
       Long branchId,
       LocalTime startTime,
@@ -138,13 +157,18 @@ public class ResourceService {
 
     resourceUnavailabilityRepository.save(resourceUnavailabilityEntity);
 
+    slotCapacityService.adjustBlocked(branchId, date, startTime, endTime, 1);
+
     var afterSnapshot = getSnapshot(resourceUnavailabilityEntity);
 
     auditService.log(ActionType.CREATE_RESOURCE_UNAVAILABILITY, Map.of("after", afterSnapshot));
 
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(branchId, date));
+
     return ResourceMapper.INSTANCE.map(resourceUnavailabilityEntity);
   }
 
+  @Transactional
   public void updateResourceUnavailability(
       Long id,
       LocalTime startTime,
@@ -161,6 +185,9 @@ public class ResourceService {
     }
 
     var beforeSnapshot = getSnapshot(resourceUnavailabilityEntity);
+    LocalDate beforeDate = resourceUnavailabilityEntity.getDate();
+    LocalTime beforeStartTime = resourceUnavailabilityEntity.getStartTime();
+    LocalTime beforeEndTime = resourceUnavailabilityEntity.getEndTime();
 
     resourceUnavailabilityEntity.setStartTime(startTime);
     resourceUnavailabilityEntity.setEndTime(endTime);
@@ -170,18 +197,39 @@ public class ResourceService {
 
     resourceUnavailabilityRepository.save(resourceUnavailabilityEntity);
 
+    Long branchId = resourceUnavailabilityEntity.getBranchId();
+    slotCapacityService.adjustBlocked(branchId, beforeDate, beforeStartTime, beforeEndTime, -1);
+    slotCapacityService.adjustBlocked(branchId, date, startTime, endTime, 1);
+
     var afterSnapshot = getSnapshot(resourceUnavailabilityEntity);
 
     auditService.log(
         ActionType.CREATE_RESOURCE_UNAVAILABILITY,
         Map.of("before", beforeSnapshot, "after", afterSnapshot));
+
+    eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(branchId, beforeDate));
+    if (!Objects.equals(date, beforeDate)) {
+      eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(branchId, date));
+    }
   }
 
+  @Transactional
   public void deleteResourceUnavailability(Long resourceId) {
     try {
+      Optional<ResourceUnavailabilityEntity> existing =
+          resourceUnavailabilityRepository.findById(resourceId);
+
       resourceUnavailabilityRepository.deleteById(resourceId);
 
       auditService.log(ActionType.DELETE_RESOURCE_UNAVAILABILITY, Map.of("id", resourceId));
+
+      existing.ifPresent(
+          e -> {
+            slotCapacityService.adjustBlocked(
+                e.getBranchId(), e.getDate(), e.getStartTime(), e.getEndTime(), -1);
+            eventPublisher.publishEvent(
+                AvailabilityChangedEvent.forDate(e.getBranchId(), e.getDate()));
+          });
     } catch (Exception e) {
       log.error(
           "Something went wrong when deleting resource unavailability, id=[{}]", resourceId, e);
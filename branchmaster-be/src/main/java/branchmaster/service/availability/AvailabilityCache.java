@@ -0,0 +1,88 @@
+package branchmaster.service.availability;
+
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded LRU cache of computed timeslots per (branchId, date). An empty list means the date was
+ * computed and has no slots. Each branch carries a generation that is bumped on every invalidation,
+ * so a read that started before a change cannot store its now stale result.
+ *
+ * <p>Invalidation events only reach this instance, so every entry also carries the branch data
+ * version (see {@link BranchDataVersionService}) read before it was computed. A lookup under any
+ * other version is a miss, which picks up changes committed on other nodes.
+ */
+@Slf4j
+@Component
+public class AvailabilityCache {
+
+  private final Map<Key, Entry> entries;
+  private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  public AvailabilityCache(@Value("${app.availability.cache.max-entries:10000}") int maxEntries) {
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  public long generation(Long branchId) {
+    return generations.computeIfAbsent(branchId, id -> new AtomicLong()).get();
+  }
+
+  public synchronized List<Timeslot> get(Long branchId, LocalDate date, long dataVersion) {
+    Entry entry = entries.get(new Key(branchId, date));
+    return entry != null && entry.dataVersion() == dataVersion ? entry.timeslots() : null;
+  }
+
+  public synchronized void putAll(
+      Long branchId,
+      long generation,
+      long dataVersion,
+      Map<LocalDate, List<Timeslot>> timeslotsByDate) {
+    if (generation(branchId) != generation) {
+      return;
+    }
+    timeslotsByDate.forEach(
+        (date, timeslots) ->
+            entries.put(new Key(branchId, date), new Entry(dataVersion, timeslots)));
+  }
+
+  public synchronized void evict(Long branchId, LocalDate date) {
+    generations.computeIfAbsent(branchId, id -> new AtomicLong()).incrementAndGet();
+    if (date == null) {
+      entries.keySet().removeIf(key -> key.branchId().equals(branchId));
+    } else {
+      entries.remove(new Key(branchId, date));
+    }
+  }
+
+  /**
+   * Runs after commit so a concurrent read cannot re-cache the pre-change state, and before the
+   * data version bump so a read that sees the new version cannot be served the old days.
+   */
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+    log.debug("Evicting availability for branchId=[{}], date=[{}]", event.branchId(), event.date());
+    evict(event.branchId(), event.date());
+  }
+
+  private record Key(Long branchId, LocalDate date) {}
+
+  private record Entry(long dataVersion, List<Timeslot> timeslots) {}
+}
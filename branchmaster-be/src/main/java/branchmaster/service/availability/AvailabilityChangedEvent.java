@@ -0,0 +1,17 @@
+package branchmaster.service.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever data feeding a branch's availability changes. A null date means every date.
+ */
+public record AvailabilityChangedEvent(Long branchId, LocalDate date) {
+
+  public static AvailabilityChangedEvent forBranch(Long branchId) {
+    return new AvailabilityChangedEvent(branchId, null);
+  }
+
+  public static AvailabilityChangedEvent forDate(Long branchId, LocalDate date) {
+    return new AvailabilityChangedEvent(branchId, date);
+  }
+}
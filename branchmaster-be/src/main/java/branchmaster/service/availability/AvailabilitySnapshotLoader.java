@@ -0,0 +1,11 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/** Loads the inputs of the availability computation. Empty when the branch does not exist. */
+public interface AvailabilitySnapshotLoader {
+
+  Optional<AvailabilitySnapshot> load(Long branchId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,416 @@
+package branchmaster.service.availability;
+
+import branchmaster.service.AppointmentService;
+import branchmaster.service.model.AvailabilityDelta;
+import branchmaster.service.model.Timeslot;
+import branchmaster.service.model.TimeslotDelta;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process fan-out of live availability over SSE. An idle stream holds no thread; work runs on
+ * short-lived virtual threads. Changes to a branch are coalesced for {@code coalesce-window}, then
+ * the dirty dates are computed once through {@link AppointmentService} (and its cache) and offered
+ * to every subscriber of the branch. Each subscriber has a single drainer that diffs what it last
+ * sent against the newest offer, so a slow client only delays itself and never receives stale
+ * intermediate states. Heartbeats keep proxies from closing idle streams.
+ */
+@Slf4j
+@Component
+public class AvailabilityStreamHub {
+
+  static final String SNAPSHOT_EVENT = "snapshot";
+  static final String DELTA_EVENT = "delta";
+
+  private final AppointmentService appointmentService;
+  private final Duration coalesceWindow;
+  private final Duration timeout;
+  private final int maxConnections;
+  private final int maxRangeDays;
+
+  private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+  private final AtomicInteger connections = new AtomicInteger();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public AvailabilityStreamHub(
+      AppointmentService appointmentService,
+      @Value("${app.availability.stream.coalesce-window:250ms}") Duration coalesceWindow,
+      @Value("${app.availability.stream.timeout:30m}") Duration timeout,
+      @Value("${app.availability.stream.max-connections:10000}") int maxConnections,
+      @Value("${app.availability.max-range-days:62}") int maxRangeDays) {
+    this.appointmentService = appointmentService;
+    this.coalesceWindow = coalesceWindow;
+    this.timeout = timeout;
+    this.maxConnections = maxConnections;
+    this.maxRangeDays = maxRangeDays;
+  }
+
+  /** Opens a stream that starts with a snapshot of the range and then carries only changes. */
+  public SseEmitter subscribe(Long branchId, LocalDate startDate, LocalDate endDate) {
+    if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+      throw new IllegalArgumentException("A stream covers at most " + maxRangeDays + " days");
+    }
+    if (connections.incrementAndGet() > maxConnections) {
+      connections.decrementAndGet();
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many availability streams");
+    }
+
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    Subscription subscription = new Subscription(branchId, startDate, endDate, emitter);
+    emitter.onCompletion(() -> unsubscribe(subscription));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(error -> unsubscribe(subscription));
+
+    Channel channel =
+        channels.compute(
+            branchId,
+            (id, existing) -> {
+              Channel result = existing != null ? existing : new Channel(id);
+              result.subscriptions.add(subscription);
+              return result;
+            });
+
+    // A change landing while the snapshot is computed is not offered to this subscriber yet, so
+    // any change counted in between triggers one more flush of the whole branch.
+    long changes = channel.changes.get();
+    try {
+      subscription.start(
+          fill(
+              appointmentService.getAvailableAppointments(branchId, startDate, endDate),
+              startDate,
+              endDate));
+    } catch (RuntimeException e) {
+      unsubscribe(subscription);
+      throw e;
+    }
+    if (channel.changes.get() != changes) {
+      channel.markDirty(null);
+    }
+
+    log.debug(
+        "Availability stream opened for branchId=[{}] from [{}] to [{}]",
+        branchId,
+        startDate,
+        endDate);
+    return emitter;
+  }
+
+  /**
+   * Runs after commit and after {@link AvailabilityCache} has evicted, so the flush never
+   * recomputes from the pre-change cache entries.
+   */
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+    Channel channel = channels.get(event.branchId());
+    if (channel != null) {
+      channel.markDirty(event.date());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.availability.stream.heartbeat:15s}")
+  public void heartbeat() {
+    channels.values().forEach(channel -> channel.subscriptions.forEach(Subscription::heartbeat));
+  }
+
+  public int connectionCount() {
+    return connections.get();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    channels.values().forEach(channel -> channel.subscriptions.forEach(s -> s.emitter.complete()));
+    executor.shutdownNow();
+  }
+
+  private void unsubscribe(Subscription subscription) {
+    channels.computeIfPresent(
+        subscription.branchId,
+        (id, channel) -> {
+          if (channel.subscriptions.remove(subscription)) {
+            connections.decrementAndGet();
+          }
+          return channel.subscriptions.isEmpty() ? null : channel;
+        });
+  }
+
+  /** Every date of the range, with an empty list for dates without slots. */
+  private static Map<LocalDate, List<Timeslot>> fill(
+      Map<LocalDate, List<Timeslot>> computed, LocalDate startDate, LocalDate endDate) {
+    Map<LocalDate, List<Timeslot>> result = new HashMap<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      result.put(date, computed.getOrDefault(date, List.of()));
+    }
+    return result;
+  }
+
+  static AvailabilityDelta diff(
+      Map<LocalDate, List<Timeslot>> sent, Map<LocalDate, List<Timeslot>> latest) {
+    List<TimeslotDelta> slots = new ArrayList<>();
+    Map<LocalDate, List<Timeslot>> days = new TreeMap<>();
+    new TreeMap<>(latest)
+        .forEach(
+            (date, timeslots) -> {
+              List<Timeslot> before = sent.getOrDefault(date, List.of());
+              if (!sameGrid(before, timeslots)) {
+                days.put(date, timeslots);
+                return;
+              }
+              for (int i = 0; i < timeslots.size(); i++) {
+                Timeslot slot = timeslots.get(i);
+                if (slot.status() != before.get(i).status()) {
+                  slots.add(
+                      new TimeslotDelta(date, slot.startTime(), slot.endTime(), slot.status()));
+                }
+              }
+            });
+    return new AvailabilityDelta(slots, days);
+  }
+
+  private static boolean sameGrid(List<Timeslot> before, List<Timeslot> after) {
+    if (before.size() != after.size()) {
+      return false;
+    }
+    for (int i = 0; i < before.size(); i++) {
+      if (!before.get(i).startTime().equals(after.get(i).startTime())
+          || !before.get(i).endTime().equals(after.get(i).endTime())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The subscribers of one branch and the dates changed since its last flush. */
+  private final class Channel {
+
+    private final Long branchId;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changes = new AtomicLong();
+    private final Set<LocalDate> dirtyDates = new HashSet<>();
+    private boolean allDirty;
+    private boolean flushing;
+
+    private Channel(Long branchId) {
+      this.branchId = branchId;
+    }
+
+    /** A null date marks every date dirty. Starts a flusher unless one is already waiting. */
+    synchronized void markDirty(LocalDate date) {
+      changes.incrementAndGet();
+      if (date == null) {
+        allDirty = true;
+      } else {
+        dirtyDates.add(date);
+      }
+      if (!flushing) {
+        flushing = true;
+        executor.execute(this::flushLoop);
+      }
+    }
+
+    /** One flusher per branch at a time, so flushes never overtake each other. */
+    private void flushLoop() {
+      while (true) {
+        try {
+          Thread.sleep(coalesceWindow);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+
+        boolean all;
+        Set<LocalDate> dates;
+        synchronized (this) {
+          if (!allDirty && dirtyDates.isEmpty()) {
+            flushing = false;
+            return;
+          }
+          all = allDirty;
+          dates = Set.copyOf(dirtyDates);
+          allDirty = false;
+          dirtyDates.clear();
+        }
+
+        try {
+          flush(all, dates);
+        } catch (Exception e) {
+          log.error("Failed to push availability changes for branchId=[{}]", branchId, e);
+        }
+      }
+    }
+
+    private void flush(boolean all, Set<LocalDate> dates) {
+      List<Subscription> started = subscriptions.stream().filter(Subscription::isStarted).toList();
+      if (started.isEmpty()) {
+        return;
+      }
+
+      LocalDate from = started.stream().map(s -> s.startDate).min(LocalDate::compareTo).get();
+      LocalDate to = started.stream().map(s -> s.endDate).max(LocalDate::compareTo).get();
+      if (!all) {
+        LocalDate firstDirty = dates.stream().min(LocalDate::compareTo).get();
+        LocalDate lastDirty = dates.stream().max(LocalDate::compareTo).get();
+        from = firstDirty.isAfter(from) ? firstDirty : from;
+        to = lastDirty.isBefore(to) ? lastDirty : to;
+      }
+      if (from.isAfter(to)) {
+        return;
+      }
+
+      Map<LocalDate, List<Timeslot>> computed =
+          appointmentService.getAvailableAppointments(branchId, from, to);
+
+      for (Subscription subscription : started) {
+        Map<LocalDate, List<Timeslot>> offer = new HashMap<>();
+        LocalDate first = subscription.startDate.isAfter(from) ? subscription.startDate : from;
+        LocalDate last = subscription.endDate.isBefore(to) ? subscription.endDate : to;
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+          if (all || dates.contains(date)) {
+            offer.put(date, computed.getOrDefault(date, List.of()));
+          }
+        }
+        if (!offer.isEmpty()) {
+          subscription.offer(offer);
+        }
+      }
+    }
+  }
+
+  /** One open stream. Only its drainer writes to the emitter, so events never interleave. */
+  private final class Subscription {
+
+    private final Long branchId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final SseEmitter emitter;
+
+    private Map<LocalDate, List<Timeslot>> pending = new HashMap<>();
+    private boolean started;
+    private boolean snapshotDue;
+    private boolean heartbeatDue;
+    private boolean draining;
+
+    /** Owned by the drainer. */
+    private Map<LocalDate, List<Timeslot>> sent;
+
+    private Subscription(
+        Long branchId, LocalDate startDate, LocalDate endDate, SseEmitter emitter) {
+      this.branchId = branchId;
+      this.startDate = startDate;
+      this.endDate = endDate;
+      this.emitter = emitter;
+    }
+
+    synchronized boolean isStarted() {
+      return started;
+    }
+
+    synchronized void start(Map<LocalDate, List<Timeslot>> snapshot) {
+      pending.putAll(snapshot);
+      started = true;
+      snapshotDue = true;
+      drain();
+    }
+
+    synchronized void offer(Map<LocalDate, List<Timeslot>> latest) {
+      pending.putAll(latest);
+      drain();
+    }
+
+    synchronized void heartbeat() {
+      if (started) {
+        heartbeatDue = true;
+        drain();
+      }
+    }
+
+    /** Called holding the lock; starts the drainer unless it is already running. */
+    private void drain() {
+      if (!draining) {
+        draining = true;
+        executor.execute(this::drainLoop);
+      }
+    }
+
+    private void drainLoop() {
+      while (true) {
+        Map<LocalDate, List<Timeslot>> batch;
+        boolean snapshot;
+        boolean heartbeat;
+        synchronized (this) {
+          if (pending.isEmpty() && !heartbeatDue) {
+            draining = false;
+            return;
+          }
+          batch = pending;
+          pending = new HashMap<>();
+          snapshot = snapshotDue;
+          heartbeat = heartbeatDue;
+          snapshotDue = false;
+          heartbeatDue = false;
+        }
+
+        try {
+          if (snapshot) {
+            sent = batch;
+            Map<LocalDate, List<Timeslot>> days = new TreeMap<>();
+            batch.forEach(
+                (date, timeslots) -> {
+                  if (!timeslots.isEmpty()) {
+                    days.put(date, timeslots);
+                  }
+                });
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(days));
+            continue;
+          }
+
+          AvailabilityDelta delta = batch.isEmpty() ? null : diff(sent, batch);
+          if (delta != null) {
+            sent.putAll(batch);
+          }
+          if (delta != null && (!delta.slots().isEmpty() || !delta.days().isEmpty())) {
+            emitter.send(SseEmitter.event().name(DELTA_EVENT).data(delta));
+          } else if (heartbeat) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+          }
+        } catch (IOException | IllegalStateException e) {
+          log.debug("Availability stream for branchId=[{}] closed: {}", branchId, e.getMessage());
+          synchronized (this) {
+            pending.clear();
+            heartbeatDue = false;
+            draining = false;
+          }
+          unsubscribe(this);
+          emitter.completeWithError(e);
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.BranchDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tracks a version per branch that moves whenever its availability inputs change: bookings,
+ * cancellations, resource availabilities and unavailabilities, operating hours and branch settings,
+ * which all publish {@link AvailabilityChangedEvent}. The bump runs after commit, in its own short
+ * statement, so booking transactions never queue on the branch's version row. Every version is
+ * bumped at startup, so a change whose bump was lost in a crash cannot keep serving 304.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BranchDataVersionService {
+
+  private final BranchDataVersionRepository branchDataVersionRepository;
+
+  /** 0 for a branch that has no version row yet. */
+  public long current(Long branchId) {
+    return branchDataVersionRepository.find(branchId).orElse(0L);
+  }
+
+  /**
+   * Ordered after {@link AvailabilityCache} has evicted, so the new version never tags old days.
+   */
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+    try {
+      long version = branchDataVersionRepository.bump(event.branchId());
+      log.debug("Branch data version [{}] for branchId=[{}]", version, event.branchId());
+    } catch (Exception e) {
+      log.error("Failed to bump data version for branchId=[{}]", event.branchId(), e);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      branchDataVersionRepository.bumpAll();
+    } catch (Exception e) {
+      log.error("Failed to bump branch data versions at startup", e);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.AppointmentRepository;
+import branchmaster.repository.BranchOperatingHoursRepository;
+import branchmaster.repository.BranchRepository;
+import branchmaster.repository.ResourceAvailabilityRepository;
+import branchmaster.repository.ResourceUnavailabilityRepository;
+import branchmaster.repository.entity.AppointmentEntity;
+import branchmaster.repository.entity.BranchEntity;
+import branchmaster.repository.entity.BranchOperatingHoursEntity;
+import branchmaster.repository.entity.ResourceAvailabilityEntity;
+import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues the independent availability reads concurrently, one virtual thread each, so the load
+ * takes as long as the slowest query rather than the sum of all of them. The first failure cancels
+ * the remaining reads.
+ *
+ * <p>Callers load inside a transaction that already holds a pooled connection, so each parallel
+ * read borrows one more. At most half the Hikari pool is lent to loaders at a time. A load that
+ * cannot get its share, or whose reads are still waiting after the timeout, runs them one after
+ * another on the caller's own connection instead, so a saturated pool slows loads down rather than
+ * failing them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.availability.loader", havingValue = "parallel")
+public class ParallelSnapshotLoader implements AvailabilitySnapshotLoader {
+
+  private static final int READS = 5;
+
+  private final BranchRepository branchRepository;
+  private final BranchOperatingHoursRepository branchOperatingHoursRepository;
+  private final ResourceAvailabilityRepository resourceAvailabilityRepository;
+  private final AppointmentRepository appointmentRepository;
+  private final ResourceUnavailabilityRepository resourceUnavailabilityRepository;
+  private final Duration timeout;
+  private final Semaphore connections;
+
+  public ParallelSnapshotLoader(
+      BranchRepository branchRepository,
+      BranchOperatingHoursRepository branchOperatingHoursRepository,
+      ResourceAvailabilityRepository resourceAvailabilityRepository,
+      AppointmentRepository appointmentRepository,
+      ResourceUnavailabilityRepository resourceUnavailabilityRepository,
+      @Value("${app.availability.loader-timeout:2s}") Duration timeout,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+    this.branchRepository = branchRepository;
+    this.branchOperatingHoursRepository = branchOperatingHoursRepository;
+    this.resourceAvailabilityRepository = resourceAvailabilityRepository;
+    this.appointmentRepository = appointmentRepository;
+    this.resourceUnavailabilityRepository = resourceUnavailabilityRepository;
+    this.timeout = timeout;
+    this.connections = new Semaphore(poolSize / 2);
+  }
+
+  @Override
+  public Optional<AvailabilitySnapshot> load(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    if (connections.tryAcquire(READS)) {
+      try {
+        return load(branchId, startDate, endDate, Executors.newVirtualThreadPerTaskExecutor());
+      } catch (LoadTimeoutException e) {
+        log.warn(
+            "Timed out loading availability for branchId=[{}] in parallel, "
+                + "loading on the caller's connection",
+            branchId);
+      } finally {
+        connections.release(READS);
+      }
+    }
+    return load(branchId, startDate, endDate, Runnable::run);
+  }
+
+  private Optional<AvailabilitySnapshot> load(
+      Long branchId, LocalDate startDate, LocalDate endDate, Executor executor) {
+    try {
+      ExecutorCompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+
+      Future<Optional<BranchEntity>> branch =
+          submit(completion, () -> branchRepository.findById(branchId));
+      Future<List<BranchOperatingHoursEntity>> operatingHours =
+          submit(completion, () -> branchOperatingHoursRepository.getOpenByBranchId(branchId));
+      Future<List<ResourceAvailabilityEntity>> availabilities =
+          submit(
+              completion,
+              () ->
+                  resourceAvailabilityRepository.getAvailabilitiesForBranchBetweenDates(
+                      branchId, startDate, endDate));
+      Future<List<AppointmentEntity>> appointments =
+          submit(
+              completion,
+              () -> appointmentRepository.findForBranchBetweenDates(branchId, startDate, endDate));
+      Future<List<ResourceUnavailabilityEntity>> unavailabilities =
+          submit(
+              completion,
+              () ->
+                  resourceUnavailabilityRepository.findForBranchBetweenDates(
+                      branchId, startDate, endDate));
+
+      List<Future<?>> all =
+          List.of(branch, operatingHours, availabilities, appointments, unavailabilities);
+      awaitAll(completion, all, branchId);
+
+      if (branch.resultNow().isEmpty()) {
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          new AvailabilitySnapshot(
+              branch.resultNow().get().getTimeslotLength(),
+              operatingHours.resultNow().stream()
+                  .map(
+                      h ->
+                          new OpeningHours(
+                              h.getDayOfWeek(),
+                              minuteOfDay(h.getOpeningTime()),
+                              minuteOfDay(h.getClosingTime())))
+                  .toList(),
+              availabilities.resultNow().stream()
+                  .map(
+                      a ->
+                          new ResourceWindow(
+                              a.getDayOfWeek(),
+                              a.getStartDate(),
+                              a.getEndDate(),
+                              minuteOfDay(a.getStartTime()),
+                              minuteOfDay(a.getEndTime())))
+                  .toList(),
+              appointments.resultNow().stream()
+                  .map(
+                      a ->
+                          new Interval(
+                              a.getAppointmentDate(),
+                              minuteOfDay(a.getStartTime()),
+                              minuteOfDay(a.getEndTime())))
+                  .toList(),
+              unavailabilities.resultNow().stream()
+                  .map(
+                      u ->
+                          new Interval(
+                              u.getDate(),
+                              minuteOfDay(u.getStartTime()),
+                              minuteOfDay(u.getEndTime())))
+                  .toList()));
+    } finally {
+      if (executor instanceof ExecutorService service) {
+        service.shutdownNow();
+      }
+    }
+  }
+
+  private void awaitAll(
+      ExecutorCompletionService<Object> completion, List<Future<?>> all, Long branchId) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    try {
+      for (int done = 0; done < all.size(); done++) {
+        Future<Object> next = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (next == null) {
+          throw new LoadTimeoutException();
+        }
+        next.get();
+      }
+    } catch (ExecutionException e) {
+      log.error("Failed to load availability for branchId=[{}]", branchId, e.getCause());
+      throw e.getCause() instanceof RuntimeException re
+          ? re
+          : new RuntimeException("Failed to load availability", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted loading availability", e);
+    } finally {
+      all.forEach(future -> future.cancel(true));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Future<T> submit(
+      ExecutorCompletionService<Object> completion, Callable<T> task) {
+    return (Future<T>) completion.submit((Callable<Object>) task);
+  }
+
+  private static int minuteOfDay(LocalTime time) {
+    return time == null ? Interval.WHOLE_DAY : time.toSecondOfDay() / 60;
+  }
+
+  private static final class LoadTimeoutException extends RuntimeException {}
+}
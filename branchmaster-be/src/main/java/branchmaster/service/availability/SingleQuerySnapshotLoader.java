@@ -0,0 +1,26 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.AvailabilitySnapshotRepository;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import java.time.LocalDate;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "app.availability.loader",
+    havingValue = "single-query",
+    matchIfMissing = true)
+public class SingleQuerySnapshotLoader implements AvailabilitySnapshotLoader {
+
+  private final AvailabilitySnapshotRepository availabilitySnapshotRepository;
+
+  @Override
+  public Optional<AvailabilitySnapshot> load(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    return availabilitySnapshotRepository.load(branchId, startDate, endDate);
+  }
+}
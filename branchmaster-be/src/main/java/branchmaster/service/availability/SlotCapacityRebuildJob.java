@@ -0,0 +1,52 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.BranchRepository;
+import branchmaster.repository.SlotCapacityRepository;
+import branchmaster.repository.entity.BranchEntity;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the bookable horizon of every active branch so reads rarely hit an unbuilt day, and
+ * drops days that have passed.
+ */
+@Slf4j
+@Component
+public class SlotCapacityRebuildJob {
+
+  private final BranchRepository branchRepository;
+  private final SlotCapacityRepository slotCapacityRepository;
+  private final SlotCapacityService slotCapacityService;
+  private final int horizonDays;
+
+  public SlotCapacityRebuildJob(
+      BranchRepository branchRepository,
+      SlotCapacityRepository slotCapacityRepository,
+      SlotCapacityService slotCapacityService,
+      @Value("${app.availability.slot-capacity.horizon-days:90}") int horizonDays) {
+    this.branchRepository = branchRepository;
+    this.slotCapacityRepository = slotCapacityRepository;
+    this.slotCapacityService = slotCapacityService;
+    this.horizonDays = horizonDays;
+  }
+
+  @Scheduled(cron = "${app.availability.slot-capacity.rebuild-cron:0 0 2 * * *}")
+  public void rebuildHorizon() {
+    LocalDate today = LocalDate.now();
+    LocalDate horizon = today.plusDays(horizonDays - 1L);
+
+    int removed = slotCapacityRepository.deleteBefore(today);
+    log.info("Removed [{}] past slot capacity days", removed);
+
+    for (BranchEntity branch : branchRepository.getAllActiveBranchesSorted()) {
+      try {
+        slotCapacityService.rebuild(branch.getId(), today, horizon);
+      } catch (Exception e) {
+        log.error("Failed to rebuild slot capacity for branchId=[{}]", branch.getId(), e);
+      }
+    }
+  }
+}
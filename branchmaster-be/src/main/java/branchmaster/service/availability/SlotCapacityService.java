@@ -0,0 +1,140 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.SlotCapacityRepository;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves availability from the materialised {@code slot_capacity} table. Bookings and resource
+ * unavailabilities adjust the stored counts in the caller's transaction; branch-wide changes
+ * (resources, operating hours, timeslot length) drop the branch's rows, and any day that is not
+ * built is rebuilt from the source tables on the next read or by {@link SlotCapacityRebuildJob}.
+ * Only days inside the booking horizon are stored; reads outside it are computed on the fly, so a
+ * far-off range neither takes the exclusive lock nor grows the table.
+ */
+@Slf4j
+@Service
+public class SlotCapacityService {
+
+  private final SlotCapacityRepository slotCapacityRepository;
+  private final AvailabilitySnapshotLoader availabilitySnapshotLoader;
+  private final int horizonDays;
+
+  public SlotCapacityService(
+      SlotCapacityRepository slotCapacityRepository,
+      AvailabilitySnapshotLoader availabilitySnapshotLoader,
+      @Value("${app.availability.slot-capacity.horizon-days:90}") int horizonDays) {
+    this.slotCapacityRepository = slotCapacityRepository;
+    this.availabilitySnapshotLoader = availabilitySnapshotLoader;
+    this.horizonDays = horizonDays;
+  }
+
+  /** Returns every date in the range, in order; closed days map to an empty list. */
+  @Transactional
+  public Map<LocalDate, List<Timeslot>> getTimeslots(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    Map<LocalDate, List<SlotCapacity>> built =
+        slotCapacityRepository.findBuilt(branchId, startDate, endDate);
+
+    LocalDate firstMissing = null;
+    LocalDate lastMissing = null;
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      if (!built.containsKey(date)) {
+        firstMissing = firstMissing == null ? date : firstMissing;
+        lastMissing = date;
+      }
+    }
+
+    if (firstMissing != null) {
+      LocalDate today = LocalDate.now();
+      LocalDate from = firstMissing.isBefore(today) ? today : firstMissing;
+      LocalDate horizon = today.plusDays(horizonDays - 1L);
+      LocalDate to = lastMissing.isAfter(horizon) ? horizon : lastMissing;
+
+      if (!from.isAfter(to)) {
+        built.putAll(rebuild(branchId, from, to));
+      }
+      if (firstMissing.isBefore(from) || lastMissing.isAfter(to)) {
+        SlotGrid.computeCapacity(
+                loadSnapshot(branchId, firstMissing, lastMissing), firstMissing, lastMissing)
+            .forEach(built::putIfAbsent);
+      }
+    }
+
+    Map<LocalDate, List<Timeslot>> timeslots = SlotGrid.toTimeslots(built);
+    Map<LocalDate, List<Timeslot>> result = new LinkedHashMap<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      result.put(date, timeslots.getOrDefault(date, List.of()));
+    }
+    return result;
+  }
+
+  @Transactional
+  public Map<LocalDate, List<SlotCapacity>> rebuild(
+      Long branchId, LocalDate startDate, LocalDate endDate) {
+    slotCapacityRepository.lockExclusive(branchId);
+
+    Map<LocalDate, List<SlotCapacity>> capacity =
+        SlotGrid.computeCapacity(loadSnapshot(branchId, startDate, endDate), startDate, endDate);
+    slotCapacityRepository.replace(branchId, startDate, endDate, capacity);
+
+    log.debug(
+        "Rebuilt slot capacity for branchId=[{}] from [{}] to [{}]", branchId, startDate, endDate);
+
+    Map<LocalDate, List<SlotCapacity>> result = new LinkedHashMap<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      result.put(date, capacity.getOrDefault(date, List.of()));
+    }
+    return result;
+  }
+
+  private AvailabilitySnapshot loadSnapshot(Long branchId, LocalDate startDate, LocalDate endDate) {
+    return availabilitySnapshotLoader
+        .load(branchId, startDate, endDate)
+        .orElseThrow(
+            () -> {
+              log.error("Branch not found for branchId=[{}]", branchId);
+              return new RuntimeException("Branch not found");
+            });
+  }
+
+  @Transactional
+  public void adjustBooked(
+      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime, int delta) {
+    slotCapacityRepository.lockShared(branchId);
+    slotCapacityRepository.adjustBooked(branchId, date, startTime, endTime, delta);
+  }
+
+  @Transactional
+  public void adjustBlocked(
+      Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime, int delta) {
+    slotCapacityRepository.lockShared(branchId);
+    slotCapacityRepository.adjustBlocked(branchId, date, startTime, endTime, delta);
+  }
+
+  @Transactional
+  public void invalidate(Long branchId) {
+    slotCapacityRepository.lockShared(branchId);
+    slotCapacityRepository.deleteBranch(branchId);
+  }
+
+  /** Date-scoped changes carry their own deltas; only branch-wide changes drop the rows. */
+  @EventListener
+  @Transactional
+  public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+    if (event.date() == null) {
+      invalidate(event.branchId());
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package branchmaster.service.availability;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Computes branch capacity with a sweep line over the slots of each open branch-day. Every resource
+ * availability adds +1 at the first slot it fully covers and -1 after the last one, and one prefix
+ * sum per day yields the resources able to take each slot on their own, which is what the
+ * reservation statement requires. Bookings and unavailabilities are counted per slot they overlap,
+ * so intervals that do not align to the timeslot grid still consume the slots they touch. These are
+ * the same counts {@code slot_capacity} maintains incrementally.
+ */
+@UtilityClass
+public class SlotGrid {
+
+  private static final int DAYS_IN_WEEK = 7;
+
+  public static Map<LocalDate, List<Timeslot>> compute(
+      AvailabilitySnapshot snapshot, LocalDate startDate, LocalDate endDate) {
+    return toTimeslots(computeCapacity(snapshot, startDate, endDate));
+  }
+
+  public static Map<LocalDate, List<Timeslot>> toTimeslots(
+      Map<LocalDate, List<SlotCapacity>> capacityByDate) {
+    Map<LocalDate, List<Timeslot>> result = new LinkedHashMap<>();
+    capacityByDate.forEach(
+        (date, slots) -> {
+          if (slots.isEmpty()) {
+            return;
+          }
+          List<Timeslot> day = new ArrayList<>(slots.size());
+          for (SlotCapacity slot : slots) {
+            day.add(
+                new Timeslot(
+                    slot.slotStart(),
+                    slot.slotEnd(),
+                    slot.isAvailable()
+                        ? AvailabilityStatus.AVAILABLE
+                        : AvailabilityStatus.FULLY_BOOKED));
+          }
+          result.put(date, Collections.unmodifiableList(day));
+        });
+    return result;
+  }
+
+  public static Map<LocalDate, List<SlotCapacity>> computeCapacity(
+      AvailabilitySnapshot snapshot, LocalDate startDate, LocalDate endDate) {
+    int timeslotLength = snapshot.timeslotLength();
+    List<Interval> bookedAppointments = snapshot.bookedAppointments();
+    List<Interval> resourceUnavailabilities = snapshot.resourceUnavailabilities();
+
+    int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    if (days <= 0) {
+      return new LinkedHashMap<>();
+    }
+
+    int[] openingMinute = new int[DAYS_IN_WEEK];
+    int[] slotCount = new int[DAYS_IN_WEEK];
+    Arrays.fill(openingMinute, -1);
+
+    int maxSlots = 0;
+    for (OpeningHours hours : snapshot.openingHours()) {
+      int dayOfWeek = hours.dayOfWeek();
+      if (openingMinute[dayOfWeek] >= 0) {
+        continue;
+      }
+      openingMinute[dayOfWeek] = hours.openingMinute();
+      slotCount[dayOfWeek] =
+          Math.max(0, (hours.closingMinute() - hours.openingMinute()) / timeslotLength);
+      maxSlots = Math.max(maxSlots, slotCount[dayOfWeek]);
+    }
+
+    // Rows valid for the whole requested range are folded into one difference array per weekday;
+    // only rows whose date window starts or ends inside the range are re-checked per date.
+    int[][] weekTemplate = new int[DAYS_IN_WEEK][];
+    List<List<ResourceWindow>> windowed = new ArrayList<>(DAYS_IN_WEEK);
+    for (int dayOfWeek = 0; dayOfWeek < DAYS_IN_WEEK; dayOfWeek++) {
+      weekTemplate[dayOfWeek] = new int[slotCount[dayOfWeek] + 1];
+      windowed.add(new ArrayList<>());
+    }
+
+    for (ResourceWindow availability : snapshot.resourceAvailabilities()) {
+      int dayOfWeek = availability.dayOfWeek();
+      if (slotCount[dayOfWeek] == 0) {
+        continue;
+      }
+      if (availability.isValidOn(startDate) && availability.isValidOn(endDate)) {
+        addFullyCovered(
+            weekTemplate[dayOfWeek],
+            slotCount[dayOfWeek],
+            timeslotLength,
+            openingMinute[dayOfWeek],
+            availability.startMinute(),
+            availability.endMinute());
+      } else {
+        windowed.get(dayOfWeek).add(availability);
+      }
+    }
+
+    DayBuckets booked = DayBuckets.of(bookedAppointments, startDate, days);
+    DayBuckets blocked = DayBuckets.of(resourceUnavailabilities, startDate, days);
+
+    int[] covered = new int[maxSlots + 1];
+    int[] bookedPerSlot = new int[maxSlots + 1];
+    int[] blockedPerSlot = new int[maxSlots + 1];
+    LocalTime[][] slotStarts = new LocalTime[DAYS_IN_WEEK][];
+    Map<LocalDate, List<SlotCapacity>> result = new LinkedHashMap<>();
+
+    LocalDate date = startDate;
+    for (int dayIndex = 0; dayIndex < days; dayIndex++, date = date.plusDays(1)) {
+      int dayOfWeek = date.getDayOfWeek().getValue() - 1;
+      int slots = slotCount[dayOfWeek];
+      if (slots == 0) {
+        continue;
+      }
+
+      int open = openingMinute[dayOfWeek];
+      int span = slots * timeslotLength;
+      System.arraycopy(weekTemplate[dayOfWeek], 0, covered, 0, slots + 1);
+      Arrays.fill(bookedPerSlot, 0, slots + 1, 0);
+      Arrays.fill(blockedPerSlot, 0, slots + 1, 0);
+
+      for (ResourceWindow availability : windowed.get(dayOfWeek)) {
+        if (availability.isValidOn(date)) {
+          addFullyCovered(
+              covered,
+              slots,
+              timeslotLength,
+              open,
+              availability.startMinute(),
+              availability.endMinute());
+        }
+      }
+
+      for (int i = booked.offsets[dayIndex]; i < booked.offsets[dayIndex + 1]; i++) {
+        Interval appointment = bookedAppointments.get(booked.rows[i]);
+        addOverlap(
+            bookedPerSlot,
+            span,
+            timeslotLength,
+            open,
+            appointment.startMinute(),
+            appointment.endMinute());
+      }
+
+      for (int i = blocked.offsets[dayIndex]; i < blocked.offsets[dayIndex + 1]; i++) {
+        Interval unavailability = resourceUnavailabilities.get(blocked.rows[i]);
+        int from =
+            unavailability.startMinute() == Interval.WHOLE_DAY
+                ? open
+                : unavailability.startMinute();
+        int to =
+            unavailability.endMinute() == Interval.WHOLE_DAY
+                ? open + span
+                : unavailability.endMinute();
+        addOverlap(blockedPerSlot, span, timeslotLength, open, from, to);
+      }
+
+      if (slotStarts[dayOfWeek] == null) {
+        slotStarts[dayOfWeek] = buildSlotStarts(open, slots, timeslotLength);
+      }
+      LocalTime[] starts = slotStarts[dayOfWeek];
+
+      List<SlotCapacity> day = new ArrayList<>(slots);
+      int capacity = 0;
+      int bookedCount = 0;
+      int blockedCount = 0;
+      for (int slot = 0; slot < slots; slot++) {
+        capacity += covered[slot];
+        bookedCount += bookedPerSlot[slot];
+        blockedCount += blockedPerSlot[slot];
+        day.add(
+            new SlotCapacity(
+                starts[slot],
+                starts[slot].plusMinutes(timeslotLength),
+                capacity,
+                bookedCount,
+                blockedCount));
+      }
+      result.put(date, Collections.unmodifiableList(day));
+    }
+
+    return result;
+  }
+
+  /** Marks the slots that lie entirely inside {@code [fromMinute, toMinute)}. */
+  private static void addFullyCovered(
+      int[] perSlot,
+      int slots,
+      int timeslotLength,
+      int openingMinute,
+      int fromMinute,
+      int toMinute) {
+    int first = Math.max(0, Math.ceilDiv(fromMinute - openingMinute, timeslotLength));
+    int last = Math.min(slots, Math.floorDiv(toMinute - openingMinute, timeslotLength));
+    if (first < last) {
+      perSlot[first]++;
+      perSlot[last]--;
+    }
+  }
+
+  private static void addOverlap(
+      int[] perSlot,
+      int span,
+      int timeslotLength,
+      int openingMinute,
+      int fromMinute,
+      int toMinute) {
+    int from = Math.clamp(fromMinute - openingMinute, 0, span);
+    int to = Math.clamp(toMinute - openingMinute, 0, span);
+    if (from < to) {
+      perSlot[from / timeslotLength]++;
+      perSlot[(to + timeslotLength - 1) / timeslotLength]--;
+    }
+  }
+
+  private static LocalTime[] buildSlotStarts(int openingMinute, int count, int timeslotLength) {
+    LocalTime[] starts = new LocalTime[count];
+    for (int slot = 0; slot < count; slot++) {
+      starts[slot] = LocalTime.ofSecondOfDay((openingMinute + slot * timeslotLength) * 60L);
+    }
+    return starts;
+  }
+
+  private static int dayIndex(LocalDate startDate, int days, LocalDate date) {
+    if (date == null) {
+      return -1;
+    }
+    long index = ChronoUnit.DAYS.between(startDate, date);
+    return index < 0 || index >= days ? -1 : (int) index;
+  }
+
+  /** Row indexes grouped by day index with a counting sort, so each day visits only its rows. */
+  private record DayBuckets(int[] offsets, int[] rows) {
+
+    static DayBuckets of(List<Interval> intervals, LocalDate startDate, int days) {
+      int[] index = new int[intervals.size()];
+      int[] offsets = new int[days + 1];
+      for (int i = 0; i < intervals.size(); i++) {
+        index[i] = dayIndex(startDate, days, intervals.get(i).date());
+        if (index[i] >= 0) {
+          offsets[index[i] + 1]++;
+        }
+      }
+      for (int day = 0; day < days; day++) {
+        offsets[day + 1] += offsets[day];
+      }
+
+      int[] next = Arrays.copyOf(offsets, days);
+      int[] rows = new int[offsets[days]];
+      for (int i = 0; i < index.length; i++) {
+        if (index[i] >= 0) {
+          rows[next[index[i]]++] = i;
+        }
+      }
+      return new DayBuckets(offsets, rows);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package branchmaster.service.booking;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Groups concurrent submissions per branch into micro-batches. The first submission for a branch
+ * opens a batch that is flushed once the window elapses or it reaches the maximum size, whichever
+ * comes first. Every caller blocks on its own result. When a flush fails, its items are flushed
+ * again one at a time, so only the caller whose item fails sees the error.
+ */
+@Slf4j
+@Component
+public class BookingBatcher {
+
+  private final boolean enabled;
+  private final Duration window;
+  private final int maxSize;
+
+  private final Map<Long, Batch<?, ?>> open = new ConcurrentHashMap<>();
+
+  public BookingBatcher(
+      @Value("${app.booking.batch.enabled:false}") boolean enabled,
+      @Value("${app.booking.batch.window:5ms}") Duration window,
+      @Value("${app.booking.batch.max-size:50}") int maxSize) {
+    this.enabled = enabled;
+    this.window = window;
+    this.maxSize = maxSize;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** {@code flush} must return one result per item, in the order the items were given. */
+  @SuppressWarnings("unchecked")
+  public <I, O> O submit(Long branchId, I item, Function<List<I>, List<O>> flush) {
+    CompletableFuture<O> result = new CompletableFuture<>();
+    Batch<I, O>[] opened = new Batch[1];
+    Batch<I, O>[] full = new Batch[1];
+
+    // Only this branch's bin is locked, so other branches keep batching meanwhile.
+    open.compute(
+        branchId,
+        (id, current) -> {
+          Batch<I, O> batch = (Batch<I, O>) current;
+          if (batch == null) {
+            batch = new Batch<>(flush);
+            opened[0] = batch;
+          }
+          batch.items.add(item);
+          batch.results.add(result);
+          if (batch.items.size() >= maxSize) {
+            full[0] = batch;
+            return null;
+          }
+          return batch;
+        });
+
+    if (full[0] != null) {
+      full[0].run();
+    } else if (opened[0] != null) {
+      Batch<I, O> batch = opened[0];
+      Thread.ofVirtual()
+          .name("booking-batch-" + branchId)
+          .start(() -> flushAfterWindow(branchId, batch));
+    }
+
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Booking batch failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for booking batch", e);
+    }
+  }
+
+  private void flushAfterWindow(Long branchId, Batch<?, ?> batch) {
+    try {
+      Thread.sleep(window);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (open.remove(branchId, batch)) {
+      batch.run();
+    }
+  }
+
+  private static final class Batch<I, O> {
+    private final Function<List<I>, List<O>> flush;
+    private final List<I> items = new ArrayList<>();
+    private final List<CompletableFuture<O>> results = new ArrayList<>();
+
+    private Batch(Function<List<I>, List<O>> flush) {
+      this.flush = flush;
+    }
+
+    private void run() {
+      log.debug("Flushing booking batch of [{}]", items.size());
+      try {
+        List<O> outcomes = flush.apply(items);
+        for (int i = 0; i < results.size(); i++) {
+          results.get(i).complete(outcomes.get(i));
+        }
+      } catch (RuntimeException e) {
+        if (items.size() == 1) {
+          results.getFirst().completeExceptionally(e);
+          return;
+        }
+        log.warn("Booking batch of [{}] failed, retrying one at a time", items.size(), e);
+        for (int i = 0; i < items.size(); i++) {
+          try {
+            results.get(i).complete(flush.apply(List.of(items.get(i))).getFirst());
+          } catch (RuntimeException itemFailure) {
+            results.get(i).completeExceptionally(itemFailure);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package branchmaster.service.catalogue;
+
+import branchmaster.controller.v1.mapper.BranchV1Mapper;
+import branchmaster.service.BranchService;
+import branchmaster.service.model.BranchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Immutable snapshot of the public branch list with both API views already serialised, plain and
+ * gzipped, so a request only writes cached bytes. The snapshot is rebuilt after every committed
+ * branch change and on a periodic refresh, and swapped in whole. Its version is a hash of the
+ * serialised bytes, so every node and every restart tags the same content with the same ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchCatalogue {
+
+  private final BranchService branchService;
+  private final ObjectMapper objectMapper;
+
+  private volatile Snapshot current;
+
+  /** Built on first use; throws like {@link BranchService#getAllOpenBranches} if that fails. */
+  public Snapshot current() {
+    Snapshot snapshot = current;
+    return snapshot != null ? snapshot : refresh();
+  }
+
+  /** Runs after commit so the rebuild reads the change and no request sees it half applied. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBranchCatalogueChanged(BranchCatalogueChangedEvent event) {
+    log.debug("Rebuilding branch catalogue after change to branchId=[{}]", event.branchId());
+    refreshQuietly();
+  }
+
+  /** Picks up changes made outside this instance, e.g. by another node or directly in the DB. */
+  @Scheduled(
+      fixedDelayString = "${app.branch.catalogue.refresh-interval:5m}",
+      initialDelayString = "${app.branch.catalogue.refresh-interval:5m}")
+  public void refreshQuietly() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      log.error("Failed to rebuild branch catalogue, keeping the previous snapshot", e);
+    }
+  }
+
+  synchronized Snapshot refresh() {
+    List<BranchDto> branches = branchService.getAllOpenBranches();
+    byte[] minimal = serialise(BranchV1Mapper.INSTANCE.mapMinimal(branches));
+    byte[] full = serialise(BranchV1Mapper.INSTANCE.map(branches));
+
+    Snapshot previous = current;
+    if (previous != null
+        && Arrays.equals(previous.minimal().json(), minimal)
+        && Arrays.equals(previous.full().json(), full)) {
+      return previous;
+    }
+
+    String version = contentHash(minimal, full);
+    // Last-Modified has second precision, so it must never move backwards with a slow clock.
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    Instant lastModified =
+        previous == null || now.isAfter(previous.lastModified()) ? now : previous.lastModified();
+
+    Snapshot snapshot =
+        new Snapshot(
+            version,
+            lastModified,
+            new View("minimal", version, minimal, gzip(minimal)),
+            new View("full", version, full, gzip(full)),
+            branches.stream().map(BranchDto::id).collect(Collectors.toUnmodifiableSet()));
+    current = snapshot;
+    log.info("Branch catalogue version [{}] with [{}] branches", version, branches.size());
+    return snapshot;
+  }
+
+  private byte[] serialise(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The first 64 bits of a SHA-256 over both views, in hex. */
+  private static String contentHash(byte[] minimal, byte[] full) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(minimal);
+      digest.update(full);
+      return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /** {@code branchIds} are the open branches in the views. */
+  public record Snapshot(
+      String version, Instant lastModified, View minimal, View full, Set<Long> branchIds) {}
+
+  /** One serialised view. The arrays are shared by every request and must not be modified. */
+  public record View(String name, String version, byte[] json, byte[] gzip) {
+
+    /** Strong ETag; the encodings are different representations, so they get different tags. */
+    public String etag(boolean gzipped) {
+      return "\"" + name + "-" + version + (gzipped ? "-gz" : "") + "\"";
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package branchmaster.service.catalogue;
+
+/** Published when a branch is created or updated, so the public branch list changes. */
+public record BranchCatalogueChangedEvent(Long branchId) {}
@@ -0,0 +1,120 @@
+package branchmaster.service.metrics;
+
+import branchmaster.service.catalogue.BranchCatalogue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the booking and availability hot paths. With {@code app.metrics.branch-tag=true} they
+ * are tagged with the branch id, but only for open branches in the {@link BranchCatalogue}; any
+ * other id a caller sends is tagged {@code other}, so made-up ids cannot add meters. Requested date
+ * ranges are bucketed so that tag stays bounded too.
+ */
+@Component
+public class AppointmentMetrics {
+
+  static final String OTHER_BRANCH = "other";
+
+  private final MeterRegistry registry;
+  private final BranchCatalogue branchCatalogue;
+  private final boolean branchTag;
+
+  public AppointmentMetrics(
+      MeterRegistry registry,
+      BranchCatalogue branchCatalogue,
+      @Value("${app.metrics.branch-tag:false}") boolean branchTag) {
+    this.registry = registry;
+    this.branchCatalogue = branchCatalogue;
+    this.branchTag = branchTag;
+  }
+
+  /** {@code cache} is hit, partial or miss, depending on how many days had to be computed. */
+  public void recordAvailability(
+      Long branchId,
+      LocalDate startDate,
+      LocalDate endDate,
+      String cache,
+      int slotsBuilt,
+      long elapsedNanos) {
+    Tags tags = branch(branchId).and("range", rangeBucket(startDate, endDate)).and("cache", cache);
+
+    Timer.builder("branchmaster.availability.lookup")
+        .description("Time to answer an availability request")
+        .tags(tags)
+        .register(registry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    DistributionSummary.builder("branchmaster.availability.slots.built")
+        .description("Timeslots computed for one request, excluding cached days")
+        .tags(tags)
+        .register(registry)
+        .record(slotsBuilt);
+  }
+
+  /** {@code outcome} is booked, invalid, no_resource, conflict or error. */
+  public void recordBooking(Long branchId, String outcome, long elapsedNanos) {
+    Timer.builder("branchmaster.booking.create")
+        .description("Time to create an appointment, by outcome")
+        .tags(branch(branchId).and("outcome", outcome))
+        .register(registry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** One per reservation statement; attempts after the first wait out competing claims. */
+  public void recordReservationAttempt(int attempt, boolean claimed) {
+    Counter.builder("branchmaster.booking.reservation.attempts")
+        .description("Reservation statements, by attempt number and whether a resource was claimed")
+        .tags("attempt", String.valueOf(attempt), "result", claimed ? "claimed" : "empty")
+        .register(registry)
+        .increment();
+  }
+
+  /** {@code outcome} is cancelled, not_found or not_booked. */
+  public void recordCancellation(String outcome) {
+    Counter.builder("branchmaster.booking.cancel")
+        .description("Cancellation requests, by outcome")
+        .tags("outcome", outcome)
+        .register(registry)
+        .increment();
+  }
+
+  private Tags branch(Long branchId) {
+    if (!branchTag) {
+      return Tags.empty();
+    }
+    return Tags.of("branch", isKnown(branchId) ? String.valueOf(branchId) : OTHER_BRANCH);
+  }
+
+  private boolean isKnown(Long branchId) {
+    try {
+      return branchCatalogue.current().branchIds().contains(branchId);
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  static String rangeBucket(LocalDate startDate, LocalDate endDate) {
+    long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    if (days <= 1) {
+      return "1d";
+    }
+    if (days <= 7) {
+      return "2-7d";
+    }
+    if (days <= 31) {
+      return "8-31d";
+    }
+    if (days <= 90) {
+      return "32-90d";
+    }
+    return "91d+";
+  }
+}
@@ -0,0 +1,14 @@
+package branchmaster.service.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+
+/**
+ * Changes since the last event of an availability stream. {@code slots} carries status changes on
+ * an unchanged grid; {@code days} replaces whole days whose grid changed, with an empty list for a
+ * day that no longer has slots.
+ */
+@Builder
+public record AvailabilityDelta(List<TimeslotDelta> slots, Map<LocalDate, List<Timeslot>> days) {}
@@ -0,0 +1,6 @@
+package branchmaster.service.model;
+
+public enum ExportFormat {
+  CSV,
+  NDJSON
+}
@@ -0,0 +1,14 @@
+package branchmaster.service.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.Builder;
+
+@Builder
+public record FreeSlot(
+    Long branchId,
+    String branchName,
+    LocalDate date,
+    LocalTime startTime,
+    LocalTime endTime,
+    Double distanceKm) {}
@@ -0,0 +1,13 @@
+package branchmaster.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public enum SlotSearchOrder {
+  TIME,
+  DISTANCE
+}
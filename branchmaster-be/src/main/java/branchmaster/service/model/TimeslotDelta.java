@@ -0,0 +1,9 @@
+package branchmaster.service.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.Builder;
+
+@Builder
+public record TimeslotDelta(
+    LocalDate date, LocalTime startTime, LocalTime endTime, AvailabilityStatus status) {}
@@ -0,0 +1,68 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Keyset order for appointment exports. The branch filter is applied on the rows of each chunk, so
+ * one index serves single-branch and all-branch exports.
+ *
+ * <p>A plain CREATE INDEX on the partitioned table would block writes to every partition while it
+ * builds, and CONCURRENTLY is not supported on a partitioned parent. So the parent index is created
+ * ON ONLY the parent, each partition is indexed CONCURRENTLY and attached, and the parent index
+ * turns valid once every partition is attached. Partitions created later get the index with the
+ * table. This is a Java migration because the partitions have to be listed first, and a SQL
+ * migration can only loop inside a DO block, which runs in a transaction that CONCURRENTLY refuses.
+ */
+public class V12__appointment_export_index extends BaseJavaMigration {
+
+  private static final String LIST_PARTITIONS =
+      """
+          SELECT format('%I.%I', n.nspname, c.relname),
+                 format('%I.%I', n.nspname, c.relname || '_date_id_idx'),
+                 format('%I', c.relname || '_date_id_idx')
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+          JOIN pg_namespace n ON n.oid = c.relnamespace
+          WHERE i.inhparent = 'branch_master.appointment'::regclass
+          ORDER BY c.relname
+      """;
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
+  }
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE INDEX IF NOT EXISTS ix_appointment_date_id "
+              + "ON ONLY branch_master.appointment (appointment_date, id)");
+
+      List<String[]> partitions = new ArrayList<>();
+      try (ResultSet rs = statement.executeQuery(LIST_PARTITIONS)) {
+        while (rs.next()) {
+          partitions.add(new String[] {rs.getString(1), rs.getString(2), rs.getString(3)});
+        }
+      }
+
+      for (String[] partition : partitions) {
+        statement.execute(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS "
+                + partition[2]
+                + " ON "
+                + partition[0]
+                + " (appointment_date, id)");
+        statement.execute(
+            "ALTER INDEX branch_master.ix_appointment_date_id ATTACH PARTITION " + partition[1]);
+      }
+    }
+  }
+}
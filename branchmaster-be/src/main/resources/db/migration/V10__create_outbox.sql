@@ -0,0 +1,8 @@
+-- Rows live only until the relay has handed them to every sink.
+CREATE TABLE branch_master.outbox_event (
+    id BIGSERIAL PRIMARY KEY,
+    event_type TEXT NOT NULL,
+    aggregate_id BIGINT,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,20 @@
+-- Built concurrently so admin writes are not blocked; see the .sql.conf next to this file.
+-- Each filter index ends in (created_at, id), so a filtered page is one descending index range
+-- that stops at the page size; the plain indexes they replace are prefixes of these.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_admin_audit_created_at_id
+    ON branch_master.admin_audit_log (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_admin_audit_staff_created_at_id
+    ON branch_master.admin_audit_log (staff_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_admin_audit_action_created_at_id
+    ON branch_master.admin_audit_log (action_type, created_at, id);
+
+-- Serves params @@ jsonpath predicates such as $.after.branchId == 1.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_admin_audit_params
+    ON branch_master.admin_audit_log USING gin (params jsonb_path_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS branch_master.idx_admin_audit_created_at;
+DROP INDEX CONCURRENTLY IF EXISTS branch_master.idx_admin_audit_staff_id;
+DROP INDEX CONCURRENTLY IF EXISTS branch_master.idx_admin_audit_action_type;
@@ -0,0 +1,21 @@
+-- Per-branch version of everything that feeds availability, used for the availability ETag.
+-- Values come from one sequence seeded with the current epoch milliseconds, so a version is never
+-- reused for a branch, even after the database is recreated.
+CREATE SEQUENCE branch_master.branch_data_version_seq;
+
+SELECT setval('branch_master.branch_data_version_seq', (extract(epoch FROM now()) * 1000)::bigint);
+
+CREATE TABLE branch_master.branch_data_version (
+    branch_id INT PRIMARY KEY NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_branch_data_version_branch
+        FOREIGN KEY (branch_id)
+            REFERENCES branch_master.branch(id)
+            ON DELETE CASCADE
+);
+
+INSERT INTO branch_master.branch_data_version (branch_id, version)
+SELECT id, nextval('branch_master.branch_data_version_seq')
+FROM branch_master.branch;
@@ -0,0 +1,6 @@
+-- An event that keeps failing on its own is parked after app.outbox.relay.max-attempts, so it no
+-- longer holds back the events behind it. Clear parked_at (and attempts) to retry it.
+ALTER TABLE branch_master.outbox_event
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN last_error TEXT,
+    ADD COLUMN parked_at TIMESTAMP;
@@ -0,0 +1,32 @@
+CREATE TABLE branch_master.slot_capacity_day (
+    branch_id INT NOT NULL,
+    date DATE NOT NULL,
+    built_at TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (branch_id, date),
+
+    CONSTRAINT fk_slot_capacity_day_branch
+        FOREIGN KEY (branch_id)
+            REFERENCES branch_master.branch(id)
+            ON DELETE CASCADE
+);
+
+CREATE TABLE branch_master.slot_capacity (
+    branch_id INT NOT NULL,
+    date DATE NOT NULL,
+    slot_start TIME NOT NULL,
+    slot_end TIME NOT NULL,
+    capacity INT NOT NULL,
+    booked INT NOT NULL DEFAULT 0,
+    blocked INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (branch_id, date, slot_start),
+
+    CONSTRAINT chk_slot_capacity_interval CHECK (slot_start < slot_end),
+    CONSTRAINT chk_slot_capacity_counts CHECK (capacity >= 0 AND booked >= 0 AND blocked >= 0),
+
+    CONSTRAINT fk_slot_capacity_day
+        FOREIGN KEY (branch_id, date)
+            REFERENCES branch_master.slot_capacity_day(branch_id, date)
+            ON DELETE CASCADE
+);
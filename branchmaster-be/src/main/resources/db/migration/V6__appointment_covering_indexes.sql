@@ -0,0 +1,13 @@
+-- Built concurrently so the appointment table stays writable; see the .sql.conf next to this file.
+
+-- Availability reads and admin day views: branch + date range of booked appointments.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_appointment_branch_date_booked
+    ON branch_master.appointment (branch_id, appointment_date, start_time)
+    INCLUDE (end_time, resource_availability_id)
+    WHERE status = 'BOOKED';
+
+-- Reservation overlap check: booked appointments of one resource on one date.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_appointment_resource_date_booked
+    ON branch_master.appointment (resource_availability_id, appointment_date, start_time)
+    INCLUDE (end_time)
+    WHERE status = 'BOOKED';
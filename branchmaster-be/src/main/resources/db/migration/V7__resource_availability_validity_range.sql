@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- NULL start/end dates become unbounded sides, so open-ended rotas need no special casing.
+ALTER TABLE branch_master.resource_availability
+    ADD COLUMN validity daterange
+        GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+CREATE INDEX ix_resource_availability_validity
+    ON branch_master.resource_availability
+    USING gist (branch_id, day_of_week, validity);
@@ -0,0 +1,38 @@
+ALTER TABLE branch_master.appointment
+    ADD COLUMN slot tsrange
+        GENERATED ALWAYS AS (
+            tsrange(appointment_date + start_time, appointment_date + end_time, '[)')
+        ) STORED;
+
+DO
+$$
+DECLARE
+    overlapping INT;
+BEGIN
+    SELECT count(*)
+    INTO overlapping
+    FROM branch_master.appointment a
+    JOIN branch_master.appointment b
+      ON b.resource_availability_id = a.resource_availability_id
+     AND b.appointment_date = a.appointment_date
+     AND b.id > a.id
+     AND b.slot && a.slot
+    WHERE a.status = 'BOOKED'
+      AND b.status = 'BOOKED';
+
+    IF overlapping > 0 THEN
+        RAISE EXCEPTION '% pairs of overlapping booked appointments must be resolved before adding appointment_no_overlap', overlapping;
+    END IF;
+END
+$$;
+
+ALTER TABLE branch_master.appointment
+    ADD CONSTRAINT appointment_no_overlap
+        EXCLUDE USING gist (
+            resource_availability_id WITH =,
+            appointment_date WITH =,
+            slot WITH &&
+        ) WHERE (status = 'BOOKED');
+
+-- Superseded: the partial unique index only caught exact duplicates of a booked slot, not overlaps.
+DROP INDEX branch_master.uq_appt_resource_slot;
@@ -0,0 +1,116 @@
+CREATE SCHEMA IF NOT EXISTS branch_master_archive;
+
+ALTER TABLE branch_master.appointment RENAME TO appointment_legacy;
+ALTER INDEX branch_master.appointment_pkey RENAME TO appointment_legacy_pkey;
+ALTER SEQUENCE branch_master.appointment_id_seq OWNED BY NONE;
+
+-- The primary key must include the partition key; ids stay unique through the shared sequence.
+CREATE TABLE branch_master.appointment (
+    id INT NOT NULL DEFAULT nextval('branch_master.appointment_id_seq'),
+    branch_id INT NOT NULL,
+    appointment_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    status TEXT DEFAULT 'BOOKED',
+    created_at TIMESTAMP DEFAULT now(),
+    reason TEXT,
+    name TEXT,
+    email TEXT,
+    phone_number TEXT,
+    resource_availability_id INT NOT NULL,
+    slot tsrange GENERATED ALWAYS AS (
+        tsrange(appointment_date + start_time, appointment_date + end_time, '[)')
+    ) STORED,
+
+    PRIMARY KEY (id, appointment_date),
+
+    CONSTRAINT chk_appointment_time CHECK (start_time < end_time),
+
+    CONSTRAINT fk_appointment_branch
+        FOREIGN KEY (branch_id)
+            REFERENCES branch_master.branch(id)
+            ON DELETE RESTRICT
+) PARTITION BY RANGE (appointment_date);
+
+-- Postgres 16 cannot put an exclusion constraint on a partitioned table, so every monthly
+-- partition gets its own; appointment_date is part of it, so this is equivalent.
+CREATE OR REPLACE FUNCTION branch_master.ensure_appointment_partition(month_start DATE)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    month_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'appointment_' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass('branch_master.' || partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE branch_master.%I PARTITION OF branch_master.appointment FOR VALUES FROM (%L) TO (%L)',
+            partition_name, from_date, month_end);
+        EXECUTE format(
+            'ALTER TABLE branch_master.%I ADD CONSTRAINT %I EXCLUDE USING gist '
+                || '(resource_availability_id WITH =, appointment_date WITH =, slot WITH &&) '
+                || 'WHERE (status = ''BOOKED'')',
+            partition_name, partition_name || '_no_overlap');
+    END IF;
+    RETURN partition_name;
+END
+$$;
+
+-- Detached partitions move to branch_master_archive, where they can be dumped or dropped.
+CREATE OR REPLACE FUNCTION branch_master.archive_appointment_partitions(cutoff DATE)
+RETURNS SETOF TEXT
+LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'branch_master.appointment'::regclass
+          AND c.relname ~ '^appointment_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(c.relname FROM 13), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format(
+            'ALTER TABLE branch_master.appointment DETACH PARTITION branch_master.%I',
+            partition_name);
+        EXECUTE format(
+            'ALTER TABLE branch_master.%I SET SCHEMA branch_master_archive',
+            partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END
+$$;
+
+SELECT branch_master.ensure_appointment_partition(month::date)
+FROM generate_series(
+         date_trunc('month', LEAST(
+             (SELECT min(appointment_date) FROM branch_master.appointment_legacy),
+             CURRENT_DATE)),
+         date_trunc('month', CURRENT_DATE + INTERVAL '12 months'),
+         INTERVAL '1 month') AS month;
+
+INSERT INTO branch_master.appointment
+    (id, branch_id, appointment_date, start_time, end_time, status, created_at,
+     reason, name, email, phone_number, resource_availability_id)
+SELECT id, branch_id, appointment_date, start_time, end_time, status, created_at,
+       reason, name, email, phone_number, resource_availability_id
+FROM branch_master.appointment_legacy;
+
+DROP TABLE branch_master.appointment_legacy;
+ALTER SEQUENCE branch_master.appointment_id_seq OWNED BY branch_master.appointment.id;
+
+CREATE INDEX ix_appointment_branch_date_booked
+    ON branch_master.appointment (branch_id, appointment_date, start_time)
+    INCLUDE (end_time, resource_availability_id)
+    WHERE status = 'BOOKED';
+
+CREATE INDEX ix_appointment_resource_date_booked
+    ON branch_master.appointment (resource_availability_id, appointment_date, start_time)
+    INCLUDE (end_time)
+    WHERE status = 'BOOKED';
@@ -0,0 +1,172 @@
+package branchmaster.audit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.repository.AdminActionAuditBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AdminAuditWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Mock AdminActionAuditBatchRepository batchRepository;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void submit_writesQueuedEntriesInBatches_andStopFlushesTheRest() {
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> batchSizes.add(invocation.<List<?>>getArgument(0).size()))
+        .when(batchRepository)
+        .insertAll(anyList());
+    AdminAuditWriter writer = writer(1000, 10, Duration.ofMillis(100));
+
+    writer.start();
+    for (int i = 0; i < 25; i++) {
+      writer.submit(entry(i));
+    }
+    writer.stop();
+
+    assertThat(batchSizes).allMatch(size -> size <= 10);
+    assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+    assertThat(writer.isRunning()).isFalse();
+  }
+
+  @Test
+  void submit_writesTheEntry_whenStopFinishesBetweenTheRunningCheckAndTheOffer() {
+    List<Long> written = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              invocation.<List<AdminActionAuditEntity>>getArgument(0).stream()
+                  .map(AdminActionAuditEntity::getStaffId)
+                  .forEach(written::add);
+              return null;
+            })
+        .when(batchRepository)
+        .insertAll(anyList());
+    AdminAuditWriter writer =
+        new AdminAuditWriter(
+            batchRepository,
+            objectMapper,
+            true,
+            10,
+            10,
+            Duration.ofMillis(10),
+            Duration.ZERO,
+            spillFile()) {
+          @Override
+          boolean offer(AdminActionAuditEntity entry) throws InterruptedException {
+            stop();
+            return super.offer(entry);
+          }
+        };
+
+    writer.start();
+    writer.submit(entry(1));
+
+    assertThat(written).containsExactly(1L);
+    assertThat(writer.queueSize()).isZero();
+  }
+
+  @Test
+  void submit_spillsToFile_whenQueueIsFull() throws Exception {
+    AdminAuditWriter writer = writer(1, 10, Duration.ofMillis(100));
+    doThrow(new IllegalStateException("DB down")).when(batchRepository).insertAll(anyList());
+
+    writer.start();
+    writer.submit(entry(1));
+    writer.submit(entry(2));
+    writer.submit(entry(3));
+    writer.stop();
+
+    assertThat(Files.readAllLines(spillFile())).hasSize(3);
+  }
+
+  @Test
+  void start_replaysSpillFile_andDeletesIt() throws Exception {
+    Files.write(
+        spillFile(),
+        List.of(
+            objectMapper.writeValueAsString(entry(1)), objectMapper.writeValueAsString(entry(2))));
+    AdminAuditWriter writer = writer(10, 10, Duration.ofMillis(10));
+
+    writer.start();
+    writer.stop();
+
+    verify(batchRepository)
+        .insertAll(argThat(entries -> entries.size() == 2 && entries.get(1).getStaffId() == 2L));
+    assertThat(spillFile()).doesNotExist();
+  }
+
+  @Test
+  void start_keepsUnwrittenLines_whenReplayFails() throws Exception {
+    Files.write(spillFile(), List.of(objectMapper.writeValueAsString(entry(1))));
+    doThrow(new IllegalStateException("DB down")).when(batchRepository).insertAll(anyList());
+    AdminAuditWriter writer = writer(10, 10, Duration.ofMillis(10));
+
+    writer.start();
+    writer.stop();
+
+    assertThat(Files.readAllLines(spillFile())).hasSize(1);
+  }
+
+  @Test
+  void submit_writesSynchronously_whenDisabled() {
+    AdminAuditWriter writer =
+        new AdminAuditWriter(
+            batchRepository,
+            objectMapper,
+            false,
+            10,
+            10,
+            Duration.ofMillis(10),
+            Duration.ofMillis(10),
+            spillFile());
+
+    writer.submit(entry(1));
+
+    verify(batchRepository).insertAll(argThat(entries -> entries.size() == 1));
+  }
+
+  private AdminAuditWriter writer(int queueCapacity, int batchSize, Duration flushInterval) {
+    return new AdminAuditWriter(
+        batchRepository,
+        objectMapper,
+        true,
+        queueCapacity,
+        batchSize,
+        flushInterval,
+        Duration.ZERO,
+        spillFile());
+  }
+
+  private Path spillFile() {
+    return tempDir.resolve("audit-spill.ndjson");
+  }
+
+  private AdminActionAuditEntity entry(long staffId) {
+    return new AdminActionAuditEntity(
+        null,
+        staffId,
+        ActionType.UPDATE_BRANCH,
+        objectMapper.valueToTree(Map.of("branchId", 1)),
+        LocalDateTime.now());
+  }
+}
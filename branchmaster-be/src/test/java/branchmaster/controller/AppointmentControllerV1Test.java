@@ -1,15 +1,20 @@
 package branchmaster.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -18,8 +23,13 @@ import branchmaster.controller.v1.model.CreateAppointmentRequest;
 import branchmaster.repository.entity.BookingStatus;
 import branchmaster.security.JwtService;
 import branchmaster.service.AppointmentService;
+import branchmaster.service.AvailabilitySearchService;
+import branchmaster.service.availability.AvailabilityStreamHub;
+import branchmaster.service.availability.BranchDataVersionService;
 import branchmaster.service.model.AppointmentDto;
 import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.FreeSlot;
+import branchmaster.service.model.SlotSearchOrder;
 import branchmaster.service.model.Timeslot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
@@ -32,6 +42,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -43,11 +54,14 @@ class AppointmentControllerV1Test {
   @Autowired ObjectMapper objectMapper;
 
   @MockBean AppointmentService appointmentService;
+  @MockBean AvailabilitySearchService availabilitySearchService;
+  @MockBean BranchDataVersionService branchDataVersionService;
+  @MockBean AvailabilityStreamHub availabilityStreamHub;
   @MockBean JwtService jwtService;
 
   @Test
   void getAvailableAppointments_returns200_andJson() throws Exception {
-    when(appointmentService.getAvailableAppointments(anyLong(), any(), any()))
+    when(appointmentService.getAvailableAppointments(anyLong(), any(), any(), anyLong()))
         .thenReturn(
             Map.of(
                 LocalDate.of(2026, 1, 10),
@@ -64,9 +78,55 @@ class AppointmentControllerV1Test {
         .andExpect(jsonPath("$.['2026-01-10'][0].startTime").value("09:00:00"));
   }
 
+  @Test
+  void getAvailableAppointments_setsEtagFromBranchVersionAndRange() throws Exception {
+    when(branchDataVersionService.current(1L)).thenReturn(42L);
+    when(appointmentService.getAvailableAppointments(anyLong(), any(), any(), anyLong()))
+        .thenReturn(Map.of());
+
+    mockMvc
+        .perform(get("/api/v1/appointment/available/1?startDate=2026-01-01&endDate=2026-01-07"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42-2026-01-01-2026-01-07\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, public"));
+
+    verify(appointmentService)
+        .getAvailableAppointments(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 7), 42L);
+  }
+
+  @Test
+  void getAvailableAppointments_returns304_withoutComputing_whenEtagMatches() throws Exception {
+    when(branchDataVersionService.current(1L)).thenReturn(42L);
+
+    mockMvc
+        .perform(
+            get("/api/v1/appointment/available/1?startDate=2026-01-01&endDate=2026-01-07")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"42-2026-01-01-2026-01-07\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"42-2026-01-01-2026-01-07\""))
+        .andExpect(content().string(""));
+
+    verify(appointmentService, never())
+        .getAvailableAppointments(anyLong(), any(), any(), anyLong());
+  }
+
+  @Test
+  void getAvailableAppointments_recomputes_afterVersionChanged() throws Exception {
+    when(branchDataVersionService.current(1L)).thenReturn(43L);
+    when(appointmentService.getAvailableAppointments(anyLong(), any(), any(), anyLong()))
+        .thenReturn(Map.of());
+
+    mockMvc
+        .perform(
+            get("/api/v1/appointment/available/1?startDate=2026-01-01&endDate=2026-01-07")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"42-2026-01-01-2026-01-07\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"43-2026-01-01-2026-01-07\""));
+  }
+
   @Test
   void getAvailableAppointments_returns5xx() throws Exception {
-    when(appointmentService.getAvailableAppointments(anyLong(), any(), any()))
+    when(appointmentService.getAvailableAppointments(anyLong(), any(), any(), anyLong()))
         .thenThrow(RuntimeException.class);
 
     mockMvc
@@ -74,6 +134,48 @@ class AppointmentControllerV1Test {
         .andExpect(status().is5xxServerError());
   }
 
+  @Test
+  void getAvailableAppointments_returns400_withoutComputing_whenRangeTooLong() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/appointment/available/1?startDate=2026-01-01&endDate=2100-01-01"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(appointmentService, branchDataVersionService);
+  }
+
+  @Test
+  void searchFreeSlots_returns200_andJson() throws Exception {
+    when(availabilitySearchService.findFreeSlots(
+            any(), any(), any(), any(), any(), anyInt(), eq(SlotSearchOrder.DISTANCE)))
+        .thenReturn(
+            List.of(
+                FreeSlot.builder()
+                    .branchId(2L)
+                    .branchName("Centurion")
+                    .date(LocalDate.of(2026, 1, 10))
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(9, 30))
+                    .distanceKm(3.5)
+                    .build()));
+
+    mockMvc
+        .perform(
+            get(
+                "/api/v1/appointment/available?startDate=2026-01-01&endDate=2026-01-31"
+                    + "&latitude=-25.86&longitude=28.19&sort=DISTANCE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].branchId").value(2))
+        .andExpect(jsonPath("$[0].startTime").value("09:00:00"))
+        .andExpect(jsonPath("$[0].distanceKm").value(3.5));
+  }
+
+  @Test
+  void searchFreeSlots_returns400_whenEndDateBeforeStartDate() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/appointment/available?startDate=2026-02-01&endDate=2026-01-01"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void createAppointment_returns200_andJson() throws Exception {
     when(appointmentService.createAppointment(any()))
@@ -0,0 +1,102 @@
+package branchmaster.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import branchmaster.controller.v1.AppointmentControllerV1;
+import branchmaster.security.JwtService;
+import branchmaster.service.AppointmentService;
+import branchmaster.service.AvailabilitySearchService;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.availability.AvailabilityStreamHub;
+import branchmaster.service.availability.BranchDataVersionService;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(
+    controllers = AppointmentControllerV1.class,
+    properties = "app.availability.stream.coalesce-window=10ms")
+@AutoConfigureMockMvc(addFilters = false)
+@Import(AvailabilityStreamHub.class)
+class AppointmentStreamControllerV1Test {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 1, 12);
+
+  @Autowired MockMvc mockMvc;
+  @Autowired AvailabilityStreamHub availabilityStreamHub;
+
+  @MockBean AppointmentService appointmentService;
+  @MockBean AvailabilitySearchService availabilitySearchService;
+  @MockBean BranchDataVersionService branchDataVersionService;
+  @MockBean JwtService jwtService;
+
+  @Test
+  void stream_sendsSnapshot_thenDeltaAfterAChange() throws Exception {
+    when(appointmentService.getAvailableAppointments(1L, DATE, DATE))
+        .thenReturn(
+            Map.of(
+                DATE,
+                List.of(
+                    slot(9, AvailabilityStatus.AVAILABLE), slot(10, AvailabilityStatus.AVAILABLE))))
+        .thenReturn(
+            Map.of(
+                DATE,
+                List.of(
+                    slot(9, AvailabilityStatus.FULLY_BOOKED),
+                    slot(10, AvailabilityStatus.AVAILABLE))));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get(
+                    "/api/v1/appointment/available/1/stream?startDate=2026-01-12&endDate=2026-01-12"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> result.getResponse().getContentAsString().contains("event:snapshot"));
+    assertThat(result.getResponse().getContentAsString()).contains("\"2026-01-12\":[");
+
+    availabilityStreamHub.onAvailabilityChanged(AvailabilityChangedEvent.forDate(1L, DATE));
+    availabilityStreamHub.onAvailabilityChanged(AvailabilityChangedEvent.forDate(1L, DATE));
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> result.getResponse().getContentAsString().contains("event:delta"));
+    String body = result.getResponse().getContentAsString();
+    assertThat(body)
+        .contains(
+            "{\"slots\":[{\"date\":\"2026-01-12\",\"startTime\":\"09:00:00\",\"endTime\":\"10:00:00\",\"status\":\"FULLY_BOOKED\"}],\"days\":{}}");
+    assertThat(body.split("event:delta", -1)).hasSize(2);
+  }
+
+  @Test
+  void stream_rejectsReversedRange() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/appointment/available/1/stream?startDate=2026-01-12&endDate=2026-01-11"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private static Timeslot slot(int hour, AvailabilityStatus status) {
+    return new Timeslot(LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), status);
+  }
+}
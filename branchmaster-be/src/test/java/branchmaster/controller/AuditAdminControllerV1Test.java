@@ -0,0 +1,81 @@
+package branchmaster.controller;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import branchmaster.admin.AuditAdminControllerV1;
+import branchmaster.audit.AdminAuditQueryService;
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditCursor;
+import branchmaster.audit.model.AuditLogPage;
+import branchmaster.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AuditAdminControllerV1.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AuditAdminControllerV1Test {
+
+  @Autowired MockMvc mockMvc;
+  @Autowired ObjectMapper objectMapper;
+
+  @MockBean AdminAuditQueryService adminAuditQueryService;
+
+  @MockBean JwtService jwtService;
+
+  @Test
+  void getAuditLog_returns200_withEntriesAndNextCursor() throws Exception {
+    LocalDateTime createdAt = LocalDateTime.of(2026, 1, 12, 9, 0);
+    AuditCursor cursor = new AuditCursor(createdAt, 41L);
+    when(adminAuditQueryService.findPage(
+            argThat(
+                query ->
+                    query.staffId() == 7L
+                        && query.actionType() == ActionType.UPDATE_BRANCH
+                        && query.paramPath().equals("$.after.branchId == 1")
+                        && query.cursor().equals(cursor)
+                        && query.limit() == 1)))
+        .thenReturn(
+            new AuditLogPage(
+                List.of(
+                    new AdminActionAuditEntity(
+                        40L,
+                        7L,
+                        ActionType.UPDATE_BRANCH,
+                        objectMapper.valueToTree(Map.of("after", Map.of("branchId", 1))),
+                        createdAt)),
+                "next"));
+
+    mockMvc
+        .perform(
+            get("/api/admin/audit")
+                .param("staffId", "7")
+                .param("actionType", "UPDATE_BRANCH")
+                .param("paramPath", "$.after.branchId == 1")
+                .param("cursor", cursor.encode())
+                .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries[0].id").value(40))
+        .andExpect(jsonPath("$.entries[0].params.after.branchId").value(1))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  void getAuditLog_returns400_forInvalidCursor() throws Exception {
+    mockMvc
+        .perform(get("/api/admin/audit").param("cursor", "%%%"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -2,15 +2,21 @@ package branchmaster.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import branchmaster.admin.BranchAdminControllerV1;
@@ -20,13 +26,17 @@ import branchmaster.admin.model.UpdateBranchOperatingHoursRequest;
 import branchmaster.admin.model.UpdateBranchRequest;
 import branchmaster.repository.entity.BookingStatus;
 import branchmaster.security.JwtService;
+import branchmaster.service.AppointmentExportService;
 import branchmaster.service.AppointmentService;
 import branchmaster.service.BranchOperatingHoursService;
 import branchmaster.service.BranchService;
 import branchmaster.service.model.AppointmentDto;
 import branchmaster.service.model.BranchDto;
 import branchmaster.service.model.BranchOperatingHoursDto;
+import branchmaster.service.model.ExportFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -37,6 +47,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(BranchAdminControllerV1.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -48,6 +59,7 @@ class BranchAdminControllerV1Test {
   @MockBean BranchService branchService;
   @MockBean BranchOperatingHoursService branchOperatingHoursService;
   @MockBean AppointmentService appointmentService;
+  @MockBean AppointmentExportService appointmentExportService;
 
   @MockBean JwtService jwtService;
 
@@ -423,4 +435,49 @@ class BranchAdminControllerV1Test {
         .perform(get("/api/admin/branch/1/appointments?date=2026-01-10"))
         .andExpect(status().is5xxServerError());
   }
+
+  @Test
+  void exportAppointments_streamsServiceOutput_asCsvAttachment() throws Exception {
+    LocalDate start = LocalDate.of(2026, 1, 1);
+    LocalDate end = LocalDate.of(2026, 3, 31);
+    doAnswer(
+            inv -> {
+              inv.<OutputStream>getArgument(4).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(appointmentExportService)
+        .export(eq(ExportFormat.CSV), isNull(), eq(start), eq(end), any());
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/admin/appointments/export")
+                    .param("startDate", "2026-01-01")
+                    .param("endDate", "2026-03-31"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(
+            header()
+                .string(
+                    "Content-Disposition",
+                    "attachment; filename=\"appointments-all-2026-01-01-2026-03-31.csv\""))
+        .andExpect(content().string("id\n1\n"));
+  }
+
+  @Test
+  void exportAppointments_returns400_whenEndDateBeforeStartDate() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/admin/appointments/export")
+                .param("branchId", "1")
+                .param("startDate", "2026-03-01")
+                .param("endDate", "2026-01-01")
+                .param("format", "NDJSON"))
+        .andExpect(status().isBadRequest());
+  }
 }
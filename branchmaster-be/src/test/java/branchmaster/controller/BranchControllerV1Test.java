@@ -1,35 +1,56 @@
 package branchmaster.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import branchmaster.controller.v1.BranchControllerV1;
 import branchmaster.security.JwtService;
 import branchmaster.service.BranchService;
+import branchmaster.service.catalogue.BranchCatalogue;
 import branchmaster.service.model.BranchDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(BranchControllerV1.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(BranchCatalogue.class)
 class BranchControllerV1Test {
 
   @Autowired MockMvc mockMvc;
   @Autowired ObjectMapper objectMapper;
 
+  @Autowired BranchCatalogue branchCatalogue;
+
   @MockBean BranchService branchService;
   @MockBean JwtService jwtService;
 
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(branchCatalogue, "current", null);
+  }
+
   @Test
   void getOpenBranches_returns200_andJson() throws Exception {
     when(branchService.getAllOpenBranches())
@@ -95,4 +116,84 @@ class BranchControllerV1Test {
 
     mockMvc.perform(get("/api/v1/branch")).andExpect(status().is5xxServerError());
   }
+
+  @Test
+  void getOpenBranchesMinimal_setsEtagAndCacheControl() throws Exception {
+    when(branchService.getAllOpenBranches())
+        .thenReturn(List.of(BranchDto.builder().id(10L).name("Branch 1").build()));
+
+    mockMvc
+        .perform(get("/api/v1/branch"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"minimal-" + version() + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+  }
+
+  @Test
+  void getOpenBranchesMinimal_returns304_withoutLoadingBranchesAgain_whenEtagMatches()
+      throws Exception {
+    when(branchService.getAllOpenBranches())
+        .thenReturn(List.of(BranchDto.builder().id(10L).name("Branch 1").build()));
+    String etag = "\"minimal-" + version() + "\"";
+
+    mockMvc
+        .perform(get("/api/v1/branch").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+        .andExpect(content().string(""));
+
+    verify(branchService, times(1)).getAllOpenBranches();
+  }
+
+  @Test
+  void getOpenBranches_returns200_whenEtagIsStaleOrForOtherView() throws Exception {
+    when(branchService.getAllOpenBranches())
+        .thenReturn(List.of(BranchDto.builder().id(10L).name("Branch 1").build()));
+    String version = version();
+
+    mockMvc
+        .perform(
+            get("/api/v1/branch/full")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"full-0000000000000000\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"full-" + version + "\""));
+
+    mockMvc
+        .perform(
+            get("/api/v1/branch/full")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"minimal-" + version + "\""))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void getOpenBranches_servesGzip_whenAccepted() throws Exception {
+    when(branchService.getAllOpenBranches())
+        .thenReturn(List.of(BranchDto.builder().id(10L).name("Branch 1").build()));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/branch/full").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"full-" + version() + "-gz\""))
+            .andReturn();
+
+    byte[] json =
+        new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))
+            .readAllBytes();
+    assertThat(new String(json, StandardCharsets.UTF_8)).contains("\"branchId\":10");
+
+    mockMvc
+        .perform(get("/api/v1/branch/full").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(jsonPath("$[0].branchId").value(10));
+  }
+
+  private String version() {
+    return branchCatalogue.current().version();
+  }
 }
@@ -0,0 +1,287 @@
+package branchmaster.load;
+
+import static org.assertj.core.api.Assertions.*;
+
+import branchmaster.controller.v1.model.CreateAppointmentRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Replays a mix of availability reads, bookings and cancellations against the running application
+ * and a real Postgres. Each virtual user loops without think time until the run ends; a share of
+ * the bookings goes to a few hot slots per branch so they contend for the same resources. Only runs
+ * with {@code mvn test -Pload}. Every {@code load.*} setting below and any {@code app.*} setting
+ * (e.g. {@code -Dapp.booking.batch.enabled=true}) can be overridden with a system property; the
+ * results are logged and written to {@code target/load-report.json}.
+ */
+@Slf4j
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.flyway.placeholders.seed_demo_data=false",
+      "app.audit.writer.spill-file=target/load-audit-spill.ndjson"
+    })
+class BookingLoadTest {
+
+  private static final String READ = "availability";
+  private static final String BOOK = "book";
+  private static final String CANCEL = "cancel";
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:16-alpine")
+          .withCommand("postgres", "-c", "max_connections=200");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @LocalServerPort int port;
+
+  @Autowired JdbcTemplate jdbcTemplate;
+  @Autowired ObjectMapper objectMapper;
+
+  @Value("${load.branches:5}")
+  int branches;
+
+  @Value("${load.resources:6}")
+  int resources;
+
+  @Value("${load.timeslot-length:30}")
+  int timeslotLength;
+
+  @Value("${load.users:200}")
+  int users;
+
+  @Value("${load.warmup:10s}")
+  Duration warmup;
+
+  @Value("${load.duration:60s}")
+  Duration duration;
+
+  @Value("${load.horizon-days:14}")
+  int horizonDays;
+
+  /** Percentages of availability reads and bookings; the rest are cancellations. */
+  @Value("${load.read-percent:70}")
+  int readPercent;
+
+  @Value("${load.book-percent:25}")
+  int bookPercent;
+
+  /** Share of bookings aimed at the first {@code load.hot-slots} slots of the next open day. */
+  @Value("${load.hot-percent:50}")
+  int hotPercent;
+
+  @Value("${load.hot-slots:3}")
+  int hotSlots;
+
+  private final LoadReport report = new LoadReport();
+  private final ConcurrentLinkedDeque<Long> booked = new ConcurrentLinkedDeque<>();
+
+  private HttpClient client;
+  private List<Long> branchIds;
+  private List<LocalDate> openDays;
+  private volatile boolean measuring;
+
+  @Test
+  void bookingTraffic() throws Exception {
+    branchIds = new LoadSeeder(jdbcTemplate).seed(branches, resources, timeslotLength);
+    openDays = openWeekdays(LocalDate.now().plusDays(1), Math.max(horizonDays, 3));
+
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      client = HttpClient.newBuilder().executor(workers).build();
+      long end = System.nanoTime() + warmup.plus(duration).toNanos();
+      for (int user = 0; user < users; user++) {
+        workers.submit(() -> run(end));
+      }
+
+      Thread.sleep(warmup);
+      measuring = true;
+      long start = System.nanoTime();
+      Thread.sleep(duration);
+      measuring = false;
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+      List<LoadReport.Summary> summaries = report.summarise(elapsed);
+      log.info(
+          "Load run: {} branches x {} resources, {} users, {} s{}{}",
+          branches,
+          resources,
+          users,
+          elapsed.toSeconds(),
+          System.lineSeparator(),
+          LoadReport.format(summaries));
+      Files.createDirectories(Path.of("target"));
+      objectMapper
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(Path.of("target", "load-report.json").toFile(), summaries);
+
+      assertThat(summaries).allSatisfy(summary -> assertThat(summary.errors()).isZero());
+    }
+
+    assertThat(overbookedSlots()).isZero();
+  }
+
+  private void run(long endNanos) {
+    while (System.nanoTime() < endNanos) {
+      int roll = ThreadLocalRandom.current().nextInt(100);
+      try {
+        if (roll < readPercent) {
+          readAvailability();
+        } else if (roll < readPercent + bookPercent) {
+          book();
+        } else {
+          cancel();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.warn("Load request failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  private void readAvailability() throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    LocalDate startDate = LocalDate.now().plusDays(1);
+    LocalDate endDate = startDate.plusDays(random.nextInt(horizonDays));
+    send(
+        READ,
+        HttpRequest.newBuilder(
+                uri(
+                    "/api/v1/appointment/available/"
+                        + randomBranch()
+                        + "?startDate="
+                        + startDate
+                        + "&endDate="
+                        + endDate))
+            .GET()
+            .build());
+  }
+
+  private void book() throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    boolean hot = random.nextInt(100) < hotPercent;
+    LocalDate date = hot ? openDays.getFirst() : openDays.get(random.nextInt(openDays.size()));
+    int slots =
+        (int) Duration.between(LoadSeeder.OPENING_TIME, LoadSeeder.CLOSING_TIME).toMinutes()
+            / timeslotLength;
+    LocalTime startTime =
+        LoadSeeder.OPENING_TIME.plusMinutes(
+            (long) random.nextInt(hot ? Math.min(hotSlots, slots) : slots) * timeslotLength);
+
+    CreateAppointmentRequest request =
+        CreateAppointmentRequest.builder()
+            .branchId(randomBranch())
+            .appointmentDate(date)
+            .startTime(startTime)
+            .endTime(startTime.plusMinutes(timeslotLength))
+            .name("Load user")
+            .email("load@example.com")
+            .reason("Load test")
+            .build();
+
+    HttpResponse<String> response =
+        send(
+            BOOK,
+            HttpRequest.newBuilder(uri("/api/v1/appointment"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                .build());
+    if (response.statusCode() == 200) {
+      JsonNode body = objectMapper.readTree(response.body());
+      booked.add(body.get("appointmentId").asLong());
+    }
+  }
+
+  private void cancel() throws Exception {
+    Long bookingId = booked.pollFirst();
+    if (bookingId == null) {
+      book();
+      return;
+    }
+    send(CANCEL, HttpRequest.newBuilder(uri("/api/v1/appointment/" + bookingId)).DELETE().build());
+  }
+
+  private HttpResponse<String> send(String operation, HttpRequest request) throws Exception {
+    long start = System.nanoTime();
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    if (measuring) {
+      report.record(operation, response.statusCode(), System.nanoTime() - start);
+    }
+    return response;
+  }
+
+  /** Built slots whose booked count exceeds their capacity or disagrees with the bookings table. */
+  private int overbookedSlots() {
+    return jdbcTemplate.queryForObject(
+        """
+            SELECT count(*)
+            FROM branch_master.slot_capacity c
+            WHERE c.booked > c.capacity
+               OR c.booked <> (
+                   SELECT count(*)
+                   FROM branch_master.appointment a
+                   WHERE a.branch_id = c.branch_id
+                     AND a.appointment_date = c.date
+                     AND a.status = 'BOOKED'
+                     AND a.start_time < c.slot_end
+                     AND a.end_time > c.slot_start)
+        """,
+        Integer.class);
+  }
+
+  private Long randomBranch() {
+    return branchIds.get(ThreadLocalRandom.current().nextInt(branchIds.size()));
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private static List<LocalDate> openWeekdays(LocalDate from, int days) {
+    List<LocalDate> dates = new ArrayList<>();
+    for (LocalDate date = from; date.isBefore(from.plusDays(days)); date = date.plusDays(1)) {
+      if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        dates.add(date);
+      }
+    }
+    return dates;
+  }
+}
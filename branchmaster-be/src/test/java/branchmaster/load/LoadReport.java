@@ -0,0 +1,114 @@
+package branchmaster.load;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side results per operation. Latencies are kept in full and sorted once at the end, so
+ * percentiles are exact rather than histogram estimates. A conflict is a 409, the answer the API
+ * gives when a slot has no free resource left; an error is anything else that is not a 2xx.
+ */
+class LoadReport {
+
+  private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+  void record(String operation, int status, long elapsedNanos) {
+    Operation stats = operations.computeIfAbsent(operation, name -> new Operation());
+    stats.latencies.add(elapsedNanos);
+    if (status == 409) {
+      stats.conflicts.increment();
+    } else if (status < 200 || status >= 300) {
+      stats.errors.increment();
+    }
+  }
+
+  List<Summary> summarise(Duration elapsed) {
+    List<Summary> summaries = new ArrayList<>();
+    new LinkedHashMap<>(operations)
+        .forEach(
+            (name, stats) -> {
+              long[] sorted = stats.latencies.stream().mapToLong(Long::longValue).toArray();
+              Arrays.sort(sorted);
+              summaries.add(
+                  new Summary(
+                      name,
+                      sorted.length,
+                      sorted.length * 1000.0 / Math.max(1, elapsed.toMillis()),
+                      percentileMillis(sorted, 0.50),
+                      percentileMillis(sorted, 0.99),
+                      sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                      stats.conflicts.sum(),
+                      stats.errors.sum()));
+            });
+    summaries.sort((a, b) -> a.operation().compareTo(b.operation()));
+    return summaries;
+  }
+
+  static String format(List<Summary> summaries) {
+    StringBuilder table =
+        new StringBuilder(
+            String.format(
+                "%-14s %9s %10s %9s %9s %9s %10s %7s%n",
+                "operation",
+                "requests",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "max ms",
+                "conflicts",
+                "errors"));
+    for (Summary summary : summaries) {
+      table.append(
+          String.format(
+              "%-14s %9d %10.1f %9.2f %9.2f %9.2f %9.1f%% %7d%n",
+              summary.operation(),
+              summary.requests(),
+              summary.throughput(),
+              summary.p50Millis(),
+              summary.p99Millis(),
+              summary.maxMillis(),
+              summary.conflictRate() * 100,
+              summary.errors()));
+    }
+    return table.toString();
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1_000_000.0;
+  }
+
+  record Summary(
+      String operation,
+      long requests,
+      double throughput,
+      double p50Millis,
+      double p99Millis,
+      double maxMillis,
+      long conflicts,
+      long errors) {
+
+    @JsonProperty
+    double conflictRate() {
+      return requests == 0 ? 0 : (double) conflicts / requests;
+    }
+  }
+
+  private static class Operation {
+    private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+  }
+}
@@ -0,0 +1,88 @@
+package branchmaster.load;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds branches that look like the real ones: open 08:00-17:00 on weekdays and 09:00-13:00 on
+ * Saturdays, staffed by a mix of full-day, morning and afternoon shifts plus a short Saturday rota.
+ */
+class LoadSeeder {
+
+  static final LocalTime OPENING_TIME = LocalTime.of(8, 0);
+  static final LocalTime CLOSING_TIME = LocalTime.of(17, 0);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  LoadSeeder(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  List<Long> seed(int branches, int resourcesPerBranch, int timeslotLength) {
+    List<Long> branchIds = new ArrayList<>(branches);
+    for (int branch = 0; branch < branches; branch++) {
+      Long branchId =
+          jdbcTemplate.queryForObject(
+              """
+                  INSERT INTO branch_master.branch
+                      (name, timeslot_length, active, address, city, postal_code)
+                  VALUES (?, ?, true, ?, 'Cape Town', '8001')
+                  RETURNING id
+              """,
+              Long.class,
+              "Load branch " + branch,
+              timeslotLength,
+              branch + " Long Street");
+
+      for (int dayOfWeek = 0; dayOfWeek < 5; dayOfWeek++) {
+        insertOperatingHours(branchId, dayOfWeek, OPENING_TIME, CLOSING_TIME);
+      }
+      insertOperatingHours(branchId, 5, LocalTime.of(9, 0), LocalTime.of(13, 0));
+
+      for (int resource = 0; resource < resourcesPerBranch; resource++) {
+        String name = "Consultant " + resource;
+        LocalTime start = resource % 3 == 2 ? LocalTime.of(12, 0) : OPENING_TIME;
+        LocalTime end = resource % 3 == 1 ? LocalTime.of(13, 0) : CLOSING_TIME;
+        for (int dayOfWeek = 0; dayOfWeek < 5; dayOfWeek++) {
+          insertAvailability(branchId, dayOfWeek, start, end, name);
+        }
+        if (resource % 2 == 0) {
+          insertAvailability(branchId, 5, LocalTime.of(9, 0), LocalTime.of(13, 0), name);
+        }
+      }
+      branchIds.add(branchId);
+    }
+    return branchIds;
+  }
+
+  private void insertOperatingHours(
+      Long branchId, int dayOfWeek, LocalTime openingTime, LocalTime closingTime) {
+    jdbcTemplate.update(
+        """
+            INSERT INTO branch_master.branch_operating_hours
+                (branch_id, opening_time, closing_time, day_of_week)
+            VALUES (?, ?, ?, ?)
+        """,
+        branchId,
+        openingTime,
+        closingTime,
+        dayOfWeek);
+  }
+
+  private void insertAvailability(
+      Long branchId, int dayOfWeek, LocalTime startTime, LocalTime endTime, String name) {
+    jdbcTemplate.update(
+        """
+            INSERT INTO branch_master.resource_availability
+                (branch_id, day_of_week, start_time, end_time, name)
+            VALUES (?, ?, ?, ?, ?)
+        """,
+        branchId,
+        dayOfWeek,
+        startTime,
+        endTime,
+        name);
+  }
+}
@@ -0,0 +1,124 @@
+package branchmaster.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.outbox.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+  @Mock OutboxRepository outboxRepository;
+  @Mock OutboxSink firstSink;
+  @Mock OutboxSink secondSink;
+  @Mock ApplicationEventPublisher eventPublisher;
+  @Mock TransactionTemplate transactionTemplate;
+
+  private OutboxRelay relay(int batchSize) {
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    return new OutboxRelay(
+        outboxRepository,
+        List.of(firstSink, secondSink),
+        eventPublisher,
+        transactionTemplate,
+        batchSize,
+        10,
+        3);
+  }
+
+  @Test
+  void relay_deliversToEverySink_thenPublishes_untilBatchIsShort() {
+    OutboxRelay relay = relay(2);
+    List<OutboxEvent> full = List.of(event(1), event(2));
+    List<OutboxEvent> partial = List.of(event(3));
+    when(outboxRepository.claim(2)).thenReturn(full, partial);
+
+    relay.relay();
+
+    verify(firstSink).publish(full);
+    verify(secondSink).publish(full);
+    verify(firstSink).publish(partial);
+    verify(eventPublisher, times(3)).publishEvent(any(OutboxEvent.class));
+    verify(outboxRepository, times(2)).claim(2);
+  }
+
+  @Test
+  void relay_stopsAndPublishesNothing_whenASinkFails() {
+    OutboxRelay relay = relay(2);
+    List<OutboxEvent> batch = List.of(event(1));
+    when(outboxRepository.claim(2)).thenReturn(batch);
+    doThrow(new IllegalStateException("sink down")).when(secondSink).publish(batch);
+
+    assertThatCode(relay::relay).doesNotThrowAnyException();
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void relay_isolatesAPoisonEvent_andDeliversTheRestOfTheBatch() {
+    OutboxRelay relay = relay(3);
+    OutboxEvent poison = event(2);
+    when(outboxRepository.claim(3)).thenReturn(List.of(event(1), poison, event(3)));
+    when(outboxRepository.findPending(3)).thenReturn(List.of(1L, 2L, 3L));
+    when(outboxRepository.claimOne(anyLong()))
+        .thenAnswer(inv -> Optional.of(event(inv.<Long>getArgument(0))));
+    doThrow(new IllegalArgumentException("No enum constant"))
+        .when(secondSink)
+        .publish(argThat(events -> events.stream().anyMatch(event -> event.id() == 2L)));
+
+    relay.relay();
+
+    verify(eventPublisher).publishEvent(event(1));
+    verify(eventPublisher).publishEvent(event(3));
+    verify(eventPublisher, never()).publishEvent(poison);
+    verify(outboxRepository).recordFailure(eq(2L), contains("No enum constant"), eq(3));
+    verify(outboxRepository, never()).recordFailure(eq(1L), any(), anyInt());
+  }
+
+  @Test
+  void relay_stopsRelayingOneAtATime_whenAFailureCannotBeRecorded() {
+    OutboxRelay relay = relay(2);
+    when(outboxRepository.claim(2)).thenThrow(new IllegalStateException("DB down"));
+    when(outboxRepository.findPending(2)).thenReturn(List.of(1L, 2L));
+    when(outboxRepository.claimOne(1L)).thenThrow(new IllegalStateException("DB down"));
+    when(outboxRepository.recordFailure(eq(1L), any(), anyInt()))
+        .thenThrow(new IllegalStateException("DB down"));
+
+    assertThatCode(relay::relay).doesNotThrowAnyException();
+
+    verify(outboxRepository, never()).claimOne(2L);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void relay_skipsSinks_whenOutboxIsEmpty() {
+    OutboxRelay relay = relay(2);
+    when(outboxRepository.claim(2)).thenReturn(List.of());
+
+    relay.relay();
+
+    verifyNoInteractions(firstSink, secondSink, eventPublisher);
+  }
+
+  private static OutboxEvent event(long id) {
+    return OutboxEvent.builder()
+        .id(id)
+        .eventType(OutboxEventType.APPOINTMENT_BOOKED)
+        .aggregateId(id)
+        .payload(new ObjectMapper().createObjectNode().put("id", id))
+        .createdAt(LocalDateTime.of(2026, 1, 1, 9, 0))
+        .build();
+  }
+}
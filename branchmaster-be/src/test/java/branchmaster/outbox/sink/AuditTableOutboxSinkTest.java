@@ -0,0 +1,80 @@
+package branchmaster.outbox.sink;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.repository.AdminActionAuditBatchRepository;
+import branchmaster.outbox.OutboxEvent;
+import branchmaster.outbox.OutboxEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTableOutboxSinkTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock AdminActionAuditBatchRepository batchRepository;
+
+  @InjectMocks AuditTableOutboxSink sink;
+
+  @Test
+  void publish_writesOnlyAdminActions_asAuditEntries() {
+    LocalDateTime createdAt = LocalDateTime.of(2026, 1, 12, 9, 0);
+    OutboxEvent adminAction =
+        OutboxEvent.builder()
+            .id(1L)
+            .eventType(OutboxEventType.ADMIN_ACTION)
+            .payload(
+                objectMapper.valueToTree(
+                    Map.of(
+                        "staffId",
+                        7,
+                        "actionType",
+                        "UPDATE_BRANCH",
+                        "params",
+                        Map.of("branchId", 1))))
+            .createdAt(createdAt)
+            .build();
+    OutboxEvent booking =
+        OutboxEvent.builder()
+            .id(2L)
+            .eventType(OutboxEventType.APPOINTMENT_BOOKED)
+            .payload(objectMapper.createObjectNode())
+            .build();
+
+    sink.publish(List.of(adminAction, booking));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<AdminActionAuditEntity>> captor = ArgumentCaptor.forClass(List.class);
+    verify(batchRepository).insertAll(captor.capture());
+    assertThat(captor.getValue()).hasSize(1);
+
+    AdminActionAuditEntity entry = captor.getValue().getFirst();
+    assertThat(entry.getStaffId()).isEqualTo(7L);
+    assertThat(entry.getActionType()).isEqualTo(ActionType.UPDATE_BRANCH);
+    assertThat(entry.getParams().get("branchId").asInt()).isEqualTo(1);
+    assertThat(entry.getCreatedAt()).isEqualTo(createdAt);
+  }
+
+  @Test
+  void publish_writesNothing_withoutAdminActions() {
+    sink.publish(
+        List.of(
+            OutboxEvent.builder()
+                .id(1L)
+                .eventType(OutboxEventType.APPOINTMENT_CANCELLED)
+                .payload(objectMapper.createObjectNode())
+                .build()));
+
+    verifyNoInteractions(batchRepository);
+  }
+}
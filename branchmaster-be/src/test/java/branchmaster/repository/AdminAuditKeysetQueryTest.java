@@ -0,0 +1,99 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditCursor;
+import branchmaster.audit.model.AuditLogQuery;
+import branchmaster.audit.repository.AdminActionAuditQueryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class AdminAuditKeysetQueryTest extends PostgresTestSupport {
+
+  static JdbcTemplate jdbcTemplate;
+  static AdminActionAuditQueryRepository repository;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    repository =
+        new AdminActionAuditQueryRepository(
+            new NamedParameterJdbcTemplate(jdbcTemplate), new ObjectMapper());
+    // Timestamps repeat every 100 rows, so pages have to break ties on id.
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.admin_audit_log (staff_id, action_type, params, created_at)
+            SELECT n % 5,
+                   CASE WHEN n % 2 = 0 THEN 'UPDATE_BRANCH' ELSE 'CREATE_RESOURCE_AVAILABILITY' END,
+                   jsonb_build_object('after', jsonb_build_object('branchId', n % 10)),
+                   TIMESTAMP '2026-01-01 00:00' + (n % 100) * INTERVAL '1 minute'
+            FROM generate_series(1, 20000) n
+        """);
+    jdbcTemplate.execute("VACUUM ANALYZE branch_master.admin_audit_log");
+  }
+
+  @Test
+  void findPage_walksEveryMatchingRowOnce_inDescendingOrder() {
+    AuditLogQuery.AuditLogQueryBuilder query =
+        AuditLogQuery.builder().staffId(3L).paramPath("$.after.branchId == 8");
+
+    List<Long> ids = new ArrayList<>();
+    AuditCursor cursor = null;
+    List<AdminActionAuditEntity> page;
+    do {
+      page = repository.findPage(query.cursor(cursor).build(), 250);
+      page.forEach(entry -> ids.add(entry.getId()));
+      if (!page.isEmpty()) {
+        AdminActionAuditEntity last = page.getLast();
+        cursor = new AuditCursor(last.getCreatedAt(), last.getId());
+      }
+    } while (page.size() == 250);
+
+    Integer expected =
+        jdbcTemplate.queryForObject(
+            """
+                SELECT count(*) FROM branch_master.admin_audit_log
+                WHERE staff_id = 3 AND params @@ '$.after.branchId == 8'
+            """,
+            Integer.class);
+    assertThat(ids).hasSize(expected).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void unfilteredPage_readsTheCreatedAtIndexBackwards() {
+    String plan =
+        explain(
+            jdbcTemplate,
+            """
+                SELECT id, staff_id, action_type, params, created_at
+                FROM branch_master.admin_audit_log
+                WHERE (created_at, id) < (TIMESTAMP '2026-01-01 01:00', 10000)
+                ORDER BY created_at DESC, id DESC
+                LIMIT 100
+            """);
+
+    assertThat(plan).contains("Index Scan Backward using ix_admin_audit_created_at_id");
+  }
+
+  @Test
+  void staffPage_usesTheStaffKeysetIndex() {
+    String plan =
+        explain(
+            jdbcTemplate,
+            """
+                SELECT id, staff_id, action_type, params, created_at
+                FROM branch_master.admin_audit_log
+                WHERE staff_id = 3
+                ORDER BY created_at DESC, id DESC
+                LIMIT 100
+            """);
+
+    assertThat(plan).contains("ix_admin_audit_staff_created_at_id").doesNotContain("Sort");
+  }
+}
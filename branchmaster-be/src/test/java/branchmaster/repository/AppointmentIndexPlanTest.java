@@ -0,0 +1,154 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AppointmentIndexPlanTest extends PostgresTestSupport {
+
+  static JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.branch (name, timeslot_length, active, address, city, postal_code)
+            SELECT 'Branch ' || b, 30, true, 'Street', 'City', '0000'
+            FROM generate_series(1, 20) b
+        """);
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.resource_availability
+                (branch_id, day_of_week, start_time, end_time, name)
+            SELECT b.id, d, '08:00', '17:00', 'Resource ' || b.id || '-' || d
+            FROM branch_master.branch b, generate_series(0, 6) d
+        """);
+    jdbcTemplate.execute(
+        """
+            SELECT branch_master.ensure_appointment_partition(m::date)
+            FROM generate_series(DATE '2026-01-01', DATE '2027-01-01', INTERVAL '1 month') m
+        """);
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.appointment
+                (branch_id, appointment_date, start_time, end_time, status, name,
+                 resource_availability_id)
+            SELECT ra.branch_id,
+                   DATE '2026-01-05' + (w * 7 + ra.day_of_week),
+                   TIME '08:00' + s * INTERVAL '30 minutes',
+                   TIME '08:30' + s * INTERVAL '30 minutes',
+                   CASE WHEN s % 5 = 0 THEN 'USER_CANCELLED' ELSE 'BOOKED' END,
+                   'Seeded',
+                   ra.id
+            FROM branch_master.resource_availability ra,
+                 generate_series(0, 51) w,
+                 generate_series(0, 17) s
+        """);
+    jdbcTemplate.execute("VACUUM ANALYZE branch_master.appointment");
+  }
+
+  private static final LocalDate WEDNESDAY = LocalDate.of(2026, 3, 4);
+
+  @Test
+  void findForBranchBetweenDates_usesIndexOnlyScan() throws Exception {
+    String plan =
+        explain(
+            query("findForBranchBetweenDates", Long.class, LocalDate.class, LocalDate.class),
+            Map.of(
+                "branchId",
+                3L,
+                "startDate",
+                WEDNESDAY.minusDays(2),
+                "endDate",
+                WEDNESDAY.plusDays(4)));
+
+    assertThat(plan).contains("Index Only Scan using appointment_2026_03_branch_id");
+  }
+
+  @Test
+  void snapshotAppointmentRows_useIndexOnlyScan() {
+    String plan =
+        explain(
+            AvailabilitySnapshotRepository.SNAPSHOT_QUERY,
+            Map.of(
+                "branchId",
+                3L,
+                "startDate",
+                WEDNESDAY.minusDays(2),
+                "endDate",
+                WEDNESDAY.plusDays(4)));
+
+    assertThat(plan).contains("Index Only Scan using appointment_2026_03_branch_id");
+  }
+
+  @Test
+  void reservationOverlapCheck_usesIndexOnlyScan() {
+    Map<String, Object> params = new HashMap<>();
+    params.put("branchId", 3L);
+    params.put("dayOfWeek", WEDNESDAY.getDayOfWeek().getValue() - 1);
+    params.put("date", WEDNESDAY);
+    params.put("startTime", LocalTime.of(9, 30));
+    params.put("endTime", LocalTime.of(10, 0));
+    params.put("status", "BOOKED");
+    params.put("createdAt", LocalDateTime.of(2026, 3, 1, 12, 0));
+    params.put("reason", null);
+    params.put("name", "Plan");
+    params.put("email", null);
+    params.put("phoneNumber", null);
+
+    for (String sql :
+        List.of(
+            AppointmentReservationRepository.RESERVE_SKIP_LOCKED,
+            AppointmentReservationRepository.RESERVE_WAIT)) {
+      assertThat(explain(sql, params))
+          .contains("Index Only Scan using appointment_2026_03_resource_availability_id");
+    }
+  }
+
+  @Test
+  void batchCandidateOverlapCheck_usesIndexOnlyScan() {
+    List<Object[]> requests =
+        List.<Object[]>of(new Object[] {0, WEDNESDAY, LocalTime.of(9, 30), LocalTime.of(10, 0)});
+
+    String plan =
+        explain(
+            AppointmentReservationRepository.FIND_CANDIDATES,
+            Map.of("branchId", 3L, "requests", requests));
+
+    assertThat(plan).contains("appointment_2026_03_resource_availability_id");
+  }
+
+  @Test
+  void findBookedForBranchOnDate_usesPartialIndex() throws Exception {
+    String plan =
+        explain(
+            query("findBookedForBranchOnDate", Long.class, LocalDate.class),
+            Map.of("branchId", 3L, "date", WEDNESDAY));
+
+    assertThat(plan)
+        .contains("appointment_2026_03_branch_id")
+        .doesNotContain("Seq Scan")
+        .doesNotContain("appointment_2026_04");
+  }
+
+  private static String query(String method, Class<?>... parameterTypes) throws Exception {
+    return AppointmentRepository.class
+        .getMethod(method, parameterTypes)
+        .getAnnotation(Query.class)
+        .value();
+  }
+
+  private static String explain(String sql, Map<String, ?> params) {
+    return explain(jdbcTemplate, sql, params);
+  }
+}
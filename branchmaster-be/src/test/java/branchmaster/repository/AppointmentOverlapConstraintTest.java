@@ -0,0 +1,77 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AppointmentOverlapConstraintTest extends PostgresTestSupport {
+
+  private static final String INSERT =
+      """
+          INSERT INTO branch_master.appointment
+              (branch_id, appointment_date, start_time, end_time, status, name,
+               resource_availability_id)
+          VALUES (1, DATE '2026-03-02', CAST(? AS time), CAST(? AS time), ?, 'Test', ?)
+      """;
+
+  static JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.branch (id, name, timeslot_length, active, address, city, postal_code)
+            VALUES (1, 'Branch', 30, true, 'Street', 'City', '0000')
+        """);
+    jdbcTemplate.execute("SELECT branch_master.ensure_appointment_partition(DATE '2026-03-01')");
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.resource_availability
+                (id, branch_id, day_of_week, start_time, end_time, name)
+            VALUES (1, 1, 0, '08:00', '17:00', 'First'), (2, 1, 0, '08:00', '17:00', 'Second')
+        """);
+  }
+
+  @BeforeEach
+  void clearAppointments() {
+    jdbcTemplate.update("DELETE FROM branch_master.appointment");
+  }
+
+  @Test
+  void rejectsPartiallyOverlappingBooking_onSameResource() {
+    jdbcTemplate.update(INSERT, "09:00", "10:00", "BOOKED", 1);
+
+    assertThatThrownBy(() -> jdbcTemplate.update(INSERT, "09:30", "10:00", "BOOKED", 1))
+        .isInstanceOf(DataIntegrityViolationException.class)
+        .hasMessageContaining("appointment_2026_03_no_overlap");
+  }
+
+  @Test
+  void skipsOverlappingBooking_withOnConflictDoNothing() {
+    jdbcTemplate.update(INSERT, "09:00", "10:00", "BOOKED", 1);
+
+    int inserted =
+        jdbcTemplate.update(INSERT + " ON CONFLICT DO NOTHING", "09:30", "10:30", "BOOKED", 1);
+
+    assertThat(inserted).isZero();
+  }
+
+  @Test
+  void allowsAdjacentBookings_otherResources_andRebookingCancelledSlots() {
+    jdbcTemplate.update(INSERT, "09:00", "10:00", "USER_CANCELLED", 1);
+    jdbcTemplate.update(INSERT, "09:00", "10:00", "BOOKED", 1);
+    jdbcTemplate.update(INSERT, "10:00", "11:00", "BOOKED", 1);
+    jdbcTemplate.update(INSERT, "09:30", "10:30", "BOOKED", 2);
+
+    Integer booked =
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM branch_master.appointment WHERE status = 'BOOKED'",
+            Integer.class);
+    assertThat(booked).isEqualTo(3);
+  }
+}
@@ -0,0 +1,112 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class AppointmentPartitionTest extends PostgresTestSupport {
+
+  static JdbcTemplate jdbcTemplate;
+  static AppointmentPartitionRepository repository;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    repository = new AppointmentPartitionRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.branch (id, name, timeslot_length, active, address, city, postal_code)
+            VALUES (1, 'Branch', 30, true, 'Street', 'City', '0000')
+        """);
+  }
+
+  @Test
+  void ensurePartition_isIdempotent_andRoutesRowsByMonth() {
+    assertThat(repository.ensurePartition(LocalDate.of(2025, 5, 17)))
+        .isEqualTo("appointment_2025_05");
+    assertThat(repository.ensurePartition(LocalDate.of(2025, 5, 1)))
+        .isEqualTo("appointment_2025_05");
+
+    jdbcTemplate.update(
+        """
+            INSERT INTO branch_master.appointment
+                (branch_id, appointment_date, start_time, end_time, name, resource_availability_id)
+            VALUES (1, DATE '2025-05-31', '09:00', '09:30', 'Test', 1)
+        """);
+
+    Integer rows =
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM branch_master.appointment_2025_05", Integer.class);
+    assertThat(rows).isEqualTo(1);
+  }
+
+  @Test
+  void exportIndex_isValidOnTheParent_andCoversNewPartitions() {
+    repository.ensurePartition(LocalDate.of(2025, 3, 1));
+
+    Boolean valid =
+        jdbcTemplate.queryForObject(
+            "SELECT indisvalid FROM pg_index"
+                + " WHERE indexrelid = 'branch_master.ix_appointment_date_id'::regclass",
+            Boolean.class);
+    Integer partitionsWithoutIndex =
+        jdbcTemplate.queryForObject(
+            """
+                SELECT count(*)
+                FROM pg_inherits p
+                WHERE p.inhparent = 'branch_master.appointment'::regclass
+                  AND NOT EXISTS (
+                      SELECT 1
+                      FROM pg_inherits ix
+                      JOIN pg_index i ON i.indexrelid = ix.inhrelid
+                      WHERE ix.inhparent = 'branch_master.ix_appointment_date_id'::regclass
+                        AND i.indrelid = p.inhrelid)
+            """,
+            Integer.class);
+
+    assertThat(valid).isTrue();
+    assertThat(partitionsWithoutIndex).isZero();
+  }
+
+  @Test
+  void rangeQuery_prunesToTheMonthsItCovers() {
+    repository.ensurePartition(LocalDate.of(2025, 7, 1));
+    repository.ensurePartition(LocalDate.of(2025, 8, 1));
+
+    String plan =
+        explain(
+            jdbcTemplate,
+            """
+                SELECT start_time
+                FROM branch_master.appointment
+                WHERE branch_id = 1
+                  AND appointment_date BETWEEN DATE '2025-07-10' AND DATE '2025-07-20'
+                  AND status = 'BOOKED'
+            """);
+
+    assertThat(plan).contains("appointment_2025_07").doesNotContain("appointment_2025_08");
+  }
+
+  @Test
+  void archivePartitionsBefore_detachesOnlyWholeMonthsBeforeCutoff() {
+    repository.ensurePartition(LocalDate.of(2024, 1, 1));
+    repository.ensurePartition(LocalDate.of(2024, 2, 1));
+
+    assertThat(repository.archivePartitionsBefore(LocalDate.of(2024, 2, 15)))
+        .containsExactly("appointment_2024_01");
+
+    Integer archived =
+        jdbcTemplate.queryForObject(
+            """
+                SELECT count(*) FROM pg_tables
+                WHERE schemaname = 'branch_master_archive' AND tablename = 'appointment_2024_01'
+            """,
+            Integer.class);
+    assertThat(archived).isEqualTo(1);
+    assertThat(repository.archivePartitionsBefore(LocalDate.of(2024, 2, 15))).isEmpty();
+  }
+}
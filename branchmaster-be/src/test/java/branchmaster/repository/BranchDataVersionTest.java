@@ -0,0 +1,53 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class BranchDataVersionTest extends PostgresTestSupport {
+
+  static JdbcTemplate jdbcTemplate;
+  static BranchDataVersionRepository repository;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    repository = new BranchDataVersionRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.branch (id, name, timeslot_length, active, address, city, postal_code)
+            VALUES (1, 'Branch', 30, true, 'Street', 'City', '0000'),
+                   (2, 'Other', 30, true, 'Street', 'City', '0000')
+        """);
+  }
+
+  @Test
+  void bump_createsThenAdvancesTheVersion_perBranch() {
+    long first = repository.bump(1L);
+    long second = repository.bump(1L);
+
+    assertThat(first).isGreaterThan(1_700_000_000_000L);
+    assertThat(second).isGreaterThan(first);
+    assertThat(repository.find(1L)).contains(second);
+
+    long other = repository.bump(2L);
+    assertThat(other).isGreaterThan(second);
+    assertThat(repository.find(1L)).contains(second);
+  }
+
+  @Test
+  void bumpAll_advancesEveryExistingVersion() {
+    long before = repository.bump(2L);
+
+    assertThat(repository.bumpAll()).isGreaterThanOrEqualTo(1);
+    assertThat(repository.find(2L).orElseThrow()).isGreaterThan(before);
+  }
+
+  @Test
+  void find_isEmpty_forBranchWithoutVersion() {
+    assertThat(repository.find(999L)).isEmpty();
+  }
+}
@@ -0,0 +1,52 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import branchmaster.outbox.OutboxEvent;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class OutboxParkingTest extends PostgresTestSupport {
+
+  static JdbcTemplate jdbcTemplate;
+  static OutboxRepository repository;
+
+  @BeforeAll
+  static void migrateSchema() {
+    jdbcTemplate = migrate();
+    repository =
+        new OutboxRepository(new NamedParameterJdbcTemplate(jdbcTemplate), new ObjectMapper());
+  }
+
+  @Test
+  void recordFailure_parksTheEventAtMaxAttempts_andClaimsSkipIt() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    for (long id = 1; id <= 3; id++) {
+      repository.append(
+          OutboxEventType.APPOINTMENT_BOOKED, id, objectMapper.createObjectNode().put("id", id));
+    }
+    List<Long> pending = repository.findPending(10);
+    Long poison = pending.get(1);
+
+    assertThat(repository.recordFailure(poison, "boom", 2)).isFalse();
+    assertThat(repository.recordFailure(poison, "boom again", 2)).isTrue();
+
+    assertThat(repository.findPending(10)).containsExactly(pending.get(0), pending.get(2));
+    assertThat(repository.claimOne(poison)).isEmpty();
+    assertThat(repository.claim(10))
+        .extracting(OutboxEvent::id)
+        .containsExactly(pending.get(0), pending.get(2));
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT last_error FROM branch_master.outbox_event WHERE id = ?",
+                String.class,
+                poison))
+        .isEqualTo("boom again");
+  }
+}
@@ -0,0 +1,49 @@
+package branchmaster.repository;
+
+import java.util.List;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Migrated Postgres for schema and query-plan tests; skipped where Docker is not available. */
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresTestSupport {
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  static JdbcTemplate migrate() {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+
+    Flyway.configure()
+        .dataSource(dataSource)
+        .schemas("branch_master")
+        .defaultSchema("branch_master")
+        .createSchemas(true)
+        .placeholders(Map.of("seed_demo_data", "false"))
+        .load()
+        .migrate();
+
+    return new JdbcTemplate(dataSource);
+  }
+
+  static String explain(JdbcTemplate jdbcTemplate, String sql) {
+    List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+    return String.join("\n", lines);
+  }
+
+  /** Explains a named-parameter statement as bound, so partitions are pruned at plan time. */
+  static String explain(JdbcTemplate jdbcTemplate, String sql, Map<String, ?> params) {
+    List<String> lines =
+        new NamedParameterJdbcTemplate(jdbcTemplate)
+            .queryForList("EXPLAIN " + sql, params, String.class);
+    return String.join("\n", lines);
+  }
+}
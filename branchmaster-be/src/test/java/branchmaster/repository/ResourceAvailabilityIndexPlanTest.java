@@ -0,0 +1,67 @@
+package branchmaster.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ResourceAvailabilityIndexPlanTest extends PostgresTestSupport {
+
+  private static final String OVERLAP_QUERY =
+      """
+          SELECT name FROM branch_master.resource_availability
+          WHERE branch_id = 3
+            AND validity && daterange(DATE '2026-03-02', DATE '2026-03-08', '[]')
+      """;
+
+  static JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    jdbcTemplate = migrate();
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.branch (name, timeslot_length, active, address, city, postal_code)
+            SELECT 'Branch ' || b, 30, true, 'Street', 'City', '0000'
+            FROM generate_series(1, 50) b
+        """);
+    // Five years of weekly rota windows per branch and weekday.
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.resource_availability
+                (branch_id, day_of_week, start_time, end_time, start_date, end_date, name)
+            SELECT b.id, d, '08:00', '17:00',
+                   DATE '2021-03-01' + w * 7, DATE '2021-03-01' + w * 7 + 6,
+                   'Rota ' || b.id || '-' || d || '-' || w
+            FROM branch_master.branch b, generate_series(0, 6) d, generate_series(0, 270) w
+        """);
+    jdbcTemplate.execute(
+        """
+            INSERT INTO branch_master.resource_availability
+                (branch_id, day_of_week, start_time, end_time, start_date, end_date, name)
+            VALUES (3, 0, '08:00', '17:00', NULL, NULL, 'Open ended'),
+                   (3, 1, '08:00', '17:00', DATE '2026-03-05', NULL, 'Starts mid-week'),
+                   (3, 2, '08:00', '17:00', NULL, DATE '2026-03-01', 'Ended before')
+        """);
+    jdbcTemplate.execute("VACUUM ANALYZE branch_master.resource_availability");
+  }
+
+  @Test
+  void overlapQuery_usesValidityGistIndex() {
+    String plan = explain(jdbcTemplate, OVERLAP_QUERY);
+
+    assertThat(plan).contains("ix_resource_availability_validity").doesNotContain("Seq Scan");
+  }
+
+  @Test
+  void overlapQuery_treatsNullDatesAsUnbounded() {
+    List<String> names = jdbcTemplate.queryForList(OVERLAP_QUERY, String.class);
+
+    assertThat(names)
+        .contains("Open ended", "Starts mid-week")
+        .doesNotContain("Ended before")
+        .hasSize(7 + 2);
+  }
+}
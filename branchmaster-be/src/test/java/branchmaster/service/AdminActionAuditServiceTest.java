@@ -5,81 +5,67 @@ import static org.mockito.Mockito.*;
 
 import branchmaster.audit.AdminActionAuditService;
 import branchmaster.audit.entity.ActionType;
-import branchmaster.audit.entity.AdminActionAuditEntity;
-import branchmaster.audit.repository.AdminActionAuditRepository;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.OutboxService;
 import branchmaster.security.StaffAuthUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.LocalDateTime;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class AdminActionAuditServiceTest {
 
-  @Mock AdminActionAuditRepository repo;
+  @Mock OutboxService outboxService;
 
   @InjectMocks AdminActionAuditService service;
   @Spy ObjectMapper objectMapper = new ObjectMapper();
 
   @Test
-  void log_savesAuditEntity_withSerializedParams() {
-    Long staffId = 42L;
-    ActionType actionType = ActionType.UPDATE_BRANCH_OPERATING_HOURS;
+  void log_throws_outsideTransaction() {
+    assertThatThrownBy(() -> service.log(ActionType.UPDATE_BRANCH, Map.of("branchId", 1L)))
+        .isInstanceOf(IllegalStateException.class);
 
-    Map<String, Object> params =
-        Map.of(
-            "branchId", 10L,
-            "before", Map.of("openingTime", "09:00"),
-            "after", Map.of("openingTime", "10:00"));
-
-    ArgumentCaptor<AdminActionAuditEntity> captor =
-        ArgumentCaptor.forClass(AdminActionAuditEntity.class);
+    verifyNoInteractions(outboxService);
+  }
 
+  @Test
+  void log_allowsNullParams_andStoresNullJson() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
     try (MockedStatic<StaffAuthUtil> mocked = org.mockito.Mockito.mockStatic(StaffAuthUtil.class)) {
-      mocked.when(StaffAuthUtil::getStaffId).thenReturn(staffId);
+      mocked.when(StaffAuthUtil::getStaffId).thenReturn(7L);
 
-      service.log(actionType, params);
+      service.log(ActionType.UPDATE_BRANCH, null);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
     }
 
-    verify(repo).save(captor.capture());
-
-    AdminActionAuditEntity saved = captor.getValue();
-    assertThat(saved.getStaffId()).isEqualTo(staffId);
-    assertThat(saved.getActionType()).isEqualTo(actionType);
-    assertThat(saved.getCreatedAt()).isNotNull();
-    assertThat(saved.getCreatedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-    JsonNode json = saved.getParams();
-    assertThat(json).isNotNull();
-    assertThat(json.get("branchId").asLong()).isEqualTo(10L);
-    assertThat(json.get("before").get("openingTime").asText()).isEqualTo("09:00");
-    assertThat(json.get("after").get("openingTime").asText()).isEqualTo("10:00");
+    ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+    verify(outboxService).append(eq(OutboxEventType.ADMIN_ACTION), isNull(), payload.capture());
+    assertThat(objectMapper.valueToTree(payload.getValue()).get("params").isNull()).isTrue();
   }
 
   @Test
-  void log_allowsNullParams_andStoresNullJson() {
-    Long staffId = 7L;
-    ActionType actionType = ActionType.UPDATE_BRANCH;
-
-    ArgumentCaptor<AdminActionAuditEntity> captor =
-        ArgumentCaptor.forClass(AdminActionAuditEntity.class);
-
+  void log_appendsToOutbox_insideTransaction() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
     try (MockedStatic<StaffAuthUtil> mocked = org.mockito.Mockito.mockStatic(StaffAuthUtil.class)) {
-      mocked.when(StaffAuthUtil::getStaffId).thenReturn(staffId);
+      mocked.when(StaffAuthUtil::getStaffId).thenReturn(3L);
 
-      service.log(actionType, null);
+      service.log(ActionType.CREATE_BRANCH, Map.of("branchId", 1L));
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
     }
 
-    verify(repo).save(captor.capture());
+    ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+    verify(outboxService).append(eq(OutboxEventType.ADMIN_ACTION), isNull(), payload.capture());
 
-    AdminActionAuditEntity saved = captor.getValue();
-    assertThat(saved.getStaffId()).isEqualTo(staffId);
-    assertThat(saved.getActionType()).isEqualTo(actionType);
-    assertThat(saved.getParams()).isNull();
-    assertThat(saved.getCreatedAt()).isNotNull();
+    JsonNode json = objectMapper.valueToTree(payload.getValue());
+    assertThat(json.get("staffId").asLong()).isEqualTo(3L);
+    assertThat(json.get("actionType").asText()).isEqualTo("CREATE_BRANCH");
+    assertThat(json.get("params").get("branchId").asLong()).isEqualTo(1L);
   }
 }
@@ -0,0 +1,82 @@
+package branchmaster.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.audit.AdminAuditQueryService;
+import branchmaster.audit.entity.ActionType;
+import branchmaster.audit.entity.AdminActionAuditEntity;
+import branchmaster.audit.model.AuditCursor;
+import branchmaster.audit.model.AuditLogPage;
+import branchmaster.audit.model.AuditLogQuery;
+import branchmaster.audit.repository.AdminActionAuditQueryRepository;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+
+@ExtendWith(MockitoExtension.class)
+class AdminAuditQueryServiceTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 12, 9, 0);
+
+  @Mock AdminActionAuditQueryRepository queryRepository;
+
+  @InjectMocks AdminAuditQueryService service;
+
+  @Test
+  void findPage_returnsCursorOfLastEntry_whenMoreRowsExist() {
+    AuditLogQuery query = AuditLogQuery.builder().limit(2).build();
+    when(queryRepository.findPage(query, 3))
+        .thenReturn(List.of(entry(3, NOW), entry(2, NOW), entry(1, NOW.minusMinutes(1))));
+
+    AuditLogPage page = service.findPage(query);
+
+    assertThat(page.entries()).extracting(AdminActionAuditEntity::getId).containsExactly(3L, 2L);
+    assertThat(AuditCursor.decode(page.nextCursor())).isEqualTo(new AuditCursor(NOW, 2L));
+  }
+
+  @Test
+  void findPage_returnsNoCursor_onLastPage() {
+    AuditLogQuery query = AuditLogQuery.builder().limit(2).build();
+    when(queryRepository.findPage(query, 3)).thenReturn(List.of(entry(1, NOW)));
+
+    AuditLogPage page = service.findPage(query);
+
+    assertThat(page.entries()).hasSize(1);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void findPage_rejectsEmptyTimeWindow() {
+    AuditLogQuery query = AuditLogQuery.builder().from(NOW).to(NOW).limit(10).build();
+
+    assertThatThrownBy(() -> service.findPage(query)).isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(queryRepository);
+  }
+
+  @Test
+  void findPage_reportsInvalidParamPath_asBadRequest() {
+    AuditLogQuery query = AuditLogQuery.builder().paramPath("$.[").limit(10).build();
+    when(queryRepository.findPage(query, 11))
+        .thenThrow(new BadSqlGrammarException("audit", "SELECT", new SQLException("syntax")));
+
+    assertThatThrownBy(() -> service.findPage(query))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("paramPath");
+  }
+
+  @Test
+  void auditCursor_rejectsGarbage() {
+    assertThatThrownBy(() -> AuditCursor.decode("not-a-cursor"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static AdminActionAuditEntity entry(long id, LocalDateTime createdAt) {
+    return new AdminActionAuditEntity(id, 1L, ActionType.UPDATE_BRANCH, null, createdAt);
+  }
+}
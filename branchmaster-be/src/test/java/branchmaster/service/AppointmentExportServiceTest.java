@@ -0,0 +1,116 @@
+package branchmaster.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.AppointmentExportRepository;
+import branchmaster.repository.entity.BookingStatus;
+import branchmaster.service.model.AppointmentDto;
+import branchmaster.service.model.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentExportServiceTest {
+
+  private static final LocalDate START = LocalDate.of(2026, 1, 1);
+  private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+  @Mock AppointmentExportRepository appointmentExportRepository;
+
+  private AppointmentExportService service() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    return new AppointmentExportService(appointmentExportRepository, objectMapper, 2);
+  }
+
+  @Test
+  void export_continuesAfterLastKeyOfEachFullChunk_andEscapesCsv() throws Exception {
+    stubChunk(START.minusDays(1), 0, appointment(1, 5, "Smith, Jo"), appointment(2, 5, "A"));
+    stubChunk(START.plusDays(4), 2, appointment(3, 9, "Say \"hi\""));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service().export(ExportFormat.CSV, 1L, START, END, out);
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(4);
+    assertThat(lines.get(0)).startsWith("id,branchId,appointmentDate");
+    assertThat(lines.get(1)).isEqualTo("1,1,2026-01-05,09:00,09:30,BOOKED,,\"Smith, Jo\",,,");
+    assertThat(lines.get(3)).contains("\"Say \"\"hi\"\"\"");
+    verify(appointmentExportRepository, times(2))
+        .readChunk(eq(1L), eq(START), eq(END), any(), anyLong(), eq(2), any());
+  }
+
+  @Test
+  void export_neutralisesFormulaTriggers_inCustomerText() throws Exception {
+    stubChunk(
+        START.minusDays(1),
+        0,
+        appointment(1, 5, "=HYPERLINK(\"http://x\")"),
+        appointment(2, 5, "@SUM(A1)"),
+        appointment(3, 5, "-2+3"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service().export(ExportFormat.CSV, 1L, START, END, out);
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines.get(1)).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",");
+    assertThat(lines.get(2)).contains(",'@SUM(A1),");
+    assertThat(lines.get(3)).contains(",'-2+3,");
+    assertThat(AppointmentExportService.neutralise("+27 12 345")).isEqualTo("'+27 12 345");
+    assertThat(AppointmentExportService.neutralise("Jo")).isEqualTo("Jo");
+    assertThat(AppointmentExportService.neutralise(null)).isNull();
+  }
+
+  @Test
+  void export_writesOneJsonObjectPerLine_forNdjson() throws Exception {
+    stubChunk(START.minusDays(1), 0, appointment(1, 5, "A"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service().export(ExportFormat.NDJSON, null, START, END, out);
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(1);
+    assertThat(lines.getFirst())
+        .contains("\"id\":1")
+        .contains("\"appointmentDate\":\"2026-01-05\"");
+  }
+
+  private void stubChunk(LocalDate afterDate, long afterId, AppointmentDto... rows) {
+    when(appointmentExportRepository.readChunk(
+            any(), eq(START), eq(END), eq(afterDate), eq(afterId), eq(2), any()))
+        .thenAnswer(
+            inv -> {
+              Consumer<AppointmentDto> consumer = inv.getArgument(6);
+              for (AppointmentDto row : rows) {
+                consumer.accept(row);
+              }
+              return rows.length;
+            });
+  }
+
+  private static AppointmentDto appointment(long id, int day, String name) {
+    return AppointmentDto.builder()
+        .id(id)
+        .branchId(1L)
+        .appointmentDate(LocalDate.of(2026, 1, day))
+        .startTime(LocalTime.of(9, 0))
+        .endTime(LocalTime.of(9, 30))
+        .status(BookingStatus.BOOKED)
+        .name(name)
+        .build();
+  }
+}
@@ -0,0 +1,62 @@
+package branchmaster.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.AppointmentPartitionRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentPartitionManagerTest {
+
+  @Mock AppointmentPartitionRepository appointmentPartitionRepository;
+
+  @Test
+  void maintainPartitions_createsMonthsAhead_thenArchivesPastRetention() {
+    AppointmentPartitionManager manager =
+        new AppointmentPartitionManager(appointmentPartitionRepository, 2, 24);
+    when(appointmentPartitionRepository.archivePartitionsBefore(LocalDate.of(2024, 10, 1)))
+        .thenReturn(List.of("appointment_2024_09"));
+
+    manager.maintainPartitions(LocalDate.of(2026, 10, 17));
+
+    InOrder inOrder = inOrder(appointmentPartitionRepository);
+    inOrder.verify(appointmentPartitionRepository).ensurePartition(LocalDate.of(2026, 10, 1));
+    inOrder.verify(appointmentPartitionRepository).ensurePartition(LocalDate.of(2026, 11, 1));
+    inOrder.verify(appointmentPartitionRepository).ensurePartition(LocalDate.of(2026, 12, 1));
+    inOrder
+        .verify(appointmentPartitionRepository)
+        .archivePartitionsBefore(LocalDate.of(2024, 10, 1));
+    verifyNoMoreInteractions(appointmentPartitionRepository);
+  }
+
+  @Test
+  void maintainPartitions_keepsCreating_whenOneMonthFails() {
+    AppointmentPartitionManager manager =
+        new AppointmentPartitionManager(appointmentPartitionRepository, 1, 0);
+    when(appointmentPartitionRepository.ensurePartition(LocalDate.of(2026, 10, 1)))
+        .thenThrow(new IllegalStateException("DB down"));
+
+    manager.maintainPartitions(LocalDate.of(2026, 10, 17));
+
+    verify(appointmentPartitionRepository).ensurePartition(LocalDate.of(2026, 11, 1));
+    verify(appointmentPartitionRepository, never()).archivePartitionsBefore(any());
+  }
+
+  @Test
+  void isBookable_leavesOutTheLastMonthOfTheHorizon() {
+    AppointmentPartitionManager manager =
+        new AppointmentPartitionManager(appointmentPartitionRepository, 12, 0);
+    LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+
+    assertThat(manager.isBookable(LocalDate.now())).isTrue();
+    assertThat(manager.isBookable(firstOfMonth.plusMonths(12).minusDays(1))).isTrue();
+    assertThat(manager.isBookable(firstOfMonth.plusMonths(12))).isFalse();
+  }
+}
@@ -4,21 +4,25 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import branchmaster.controller.v1.model.CreateAppointmentRequest;
+import branchmaster.outbox.OutboxEventType;
+import branchmaster.outbox.OutboxService;
 import branchmaster.repository.AppointmentRepository;
-import branchmaster.repository.BranchOperatingHoursRepository;
-import branchmaster.repository.BranchRepository;
-import branchmaster.repository.ResourceAvailabilityRepository;
-import branchmaster.repository.ResourceUnavailabilityRepository;
+import branchmaster.repository.AppointmentReservationRepository;
 import branchmaster.repository.entity.AppointmentEntity;
 import branchmaster.repository.entity.BookingStatus;
-import branchmaster.repository.entity.BranchEntity;
-import branchmaster.repository.entity.BranchOperatingHoursEntity;
-import branchmaster.repository.entity.ResourceAvailabilityEntity;
-import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.service.availability.AvailabilityCache;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.availability.BranchDataVersionService;
+import branchmaster.service.availability.SlotCapacityService;
+import branchmaster.service.booking.BookingBatcher;
+import branchmaster.service.booking.BookingLockManager;
+import branchmaster.service.metrics.AppointmentMetrics;
 import branchmaster.service.model.AppointmentDto;
 import branchmaster.service.model.AvailabilityStatus;
 import branchmaster.service.model.Timeslot;
 import branchmaster.web.exception.NoAvailableResourceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -28,20 +32,46 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class AppointmentServiceTest {
 
-  @Mock ResourceAvailabilityRepository resourceAvailabilityRepository;
-  @Mock BranchRepository branchRepository;
   @Mock AppointmentRepository appointmentRepository;
-  @Mock BranchOperatingHoursRepository branchOperatingHoursRepository;
-  @Mock ResourceUnavailabilityRepository resourceUnavailabilityRepository;
+  @Mock AppointmentReservationRepository appointmentReservationRepository;
+  @Mock SlotCapacityService slotCapacityService;
+  @Spy AvailabilityCache availabilityCache = new AvailabilityCache(1000);
+  @Mock ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  BookingLockManager bookingLockManager =
+      new BookingLockManager(new SimpleMeterRegistry(), false, 1, Duration.ZERO);
+
+  @Mock TransactionTemplate transactionTemplate;
+  @Spy BookingBatcher bookingBatcher = new BookingBatcher(false, Duration.ofSeconds(5), 1);
+  @Mock OutboxService outboxService;
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Spy AppointmentMetrics appointmentMetrics = new AppointmentMetrics(meterRegistry, null, false);
+
+  @Spy
+  AppointmentPartitionManager appointmentPartitionManager =
+      new AppointmentPartitionManager(null, 12, 0);
+
+  @Mock BranchDataVersionService branchDataVersionService;
 
   @InjectMocks AppointmentService service;
 
+  private void runTransactionsInline() {
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
   @Test
-  void createAppointment_throwsNoAvailableResource_whenPickFreeResourceReturnsEmpty() {
+  void createAppointment_throwsNoAvailableResource_whenNoResourceCanBeClaimed() {
     LocalDate date = LocalDate.of(2026, 1, 12);
     CreateAppointmentRequest req =
         CreateAppointmentRequest.builder()
@@ -55,22 +85,50 @@ class AppointmentServiceTest {
             .phoneNumber("0123456789")
             .build();
 
-    when(resourceAvailabilityRepository.findForBranchOnDate(
-            eq(1L), anyInt(), eq(date), eq(LocalTime.of(9, 0)), eq(LocalTime.of(10, 0))))
-        .thenReturn(List.of());
+    when(appointmentReservationRepository.reserve(any(), eq(0), anyBoolean()))
+        .thenReturn(Optional.empty());
+
+    runTransactionsInline();
 
     assertThatThrownBy(() -> service.createAppointment(req))
         .isInstanceOf(NoAvailableResourceException.class)
         .hasMessageContaining("duplicate");
 
-    verify(resourceAvailabilityRepository)
-        .findForBranchOnDate(
-            eq(1L), anyInt(), eq(date), eq(LocalTime.of(9, 0)), eq(LocalTime.of(10, 0)));
-    verifyNoInteractions(appointmentRepository);
+    InOrder inOrder = inOrder(appointmentReservationRepository);
+    inOrder.verify(appointmentReservationRepository).reserve(any(), eq(0), eq(true));
+    inOrder.verify(appointmentReservationRepository, times(2)).reserve(any(), eq(0), eq(false));
+    verifyNoInteractions(slotCapacityService, eventPublisher);
+    verify(appointmentMetrics).recordReservationAttempt(3, false);
+    verify(appointmentMetrics).recordBooking(eq(1L), eq("no_resource"), anyLong());
   }
 
   @Test
-  void createAppointment_savesAppointment_withBookedStatus_andChosenResourceId() {
+  void createAppointment_rejectsDatesPastThePartitionHorizon_asInvalid() {
+    CreateAppointmentRequest req =
+        CreateAppointmentRequest.builder()
+            .branchId(1L)
+            .appointmentDate(LocalDate.now().plusMonths(13))
+            .startTime(LocalTime.of(9, 0))
+            .endTime(LocalTime.of(9, 30))
+            .name("Jane")
+            .build();
+
+    assertThatThrownBy(() -> service.createAppointment(req))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("too far ahead");
+
+    verifyNoInteractions(appointmentReservationRepository, transactionTemplate);
+    assertThat(
+            meterRegistry
+                .get("branchmaster.booking.create")
+                .tag("outcome", "invalid")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void createAppointment_reservesAppointment_withBookedStatus_andClaimedResourceId() {
     LocalDate date = LocalDate.of(2026, 1, 12);
     CreateAppointmentRequest req =
         CreateAppointmentRequest.builder()
@@ -84,33 +142,23 @@ class AppointmentServiceTest {
             .phoneNumber("0123456789")
             .build();
 
-    ResourceAvailabilityEntity candidate = new ResourceAvailabilityEntity();
-    candidate.setId(55L);
-
-    when(resourceAvailabilityRepository.findForBranchOnDate(
-            eq(1L), anyInt(), eq(date), eq(LocalTime.of(9, 0)), eq(LocalTime.of(10, 0))))
-        .thenReturn(List.of(candidate));
-
-    when(resourceUnavailabilityRepository.findUnavailableResourceIdsForSlot(
-            eq(1L), eq(date), eq(LocalTime.of(9, 0)), eq(LocalTime.of(10, 0))))
-        .thenReturn(List.of());
-
-    when(appointmentRepository.findBookedResourceIdsForSlot(
-            eq(1L), eq(date), eq(LocalTime.of(9, 0)), eq(LocalTime.of(10, 0))))
-        .thenReturn(List.of());
-
-    when(appointmentRepository.save(any()))
+    when(appointmentReservationRepository.reserve(any(), eq(0), eq(true)))
+        .thenReturn(Optional.empty());
+    when(appointmentReservationRepository.reserve(any(), eq(0), eq(false)))
         .thenAnswer(
             inv -> {
               AppointmentEntity e = inv.getArgument(0);
               e.setId(999L);
-              return e;
+              e.setResourceAvailabilityId(55L);
+              return Optional.of(e);
             });
 
+    runTransactionsInline();
+
     AppointmentDto dto = service.createAppointment(req);
 
     ArgumentCaptor<AppointmentEntity> captor = ArgumentCaptor.forClass(AppointmentEntity.class);
-    verify(appointmentRepository).save(captor.capture());
+    verify(appointmentReservationRepository).reserve(captor.capture(), eq(0), eq(false));
 
     AppointmentEntity saved = captor.getValue();
     assertThat(saved.getBranchId()).isEqualTo(1L);
@@ -118,15 +166,49 @@ class AppointmentServiceTest {
     assertThat(saved.getStartTime()).isEqualTo(LocalTime.of(9, 0));
     assertThat(saved.getEndTime()).isEqualTo(LocalTime.of(10, 0));
     assertThat(saved.getStatus()).isEqualTo(BookingStatus.BOOKED);
-    assertThat(saved.getResourceAvailabilityId()).isEqualTo(55L);
     assertThat(saved.getCreatedAt()).isNotNull();
 
     assertThat(dto).isNotNull();
+    assertThat(dto.id()).isEqualTo(999L);
+    verify(appointmentRepository, never()).save(any());
+  }
+
+  @Test
+  void createAppointment_withBatching_fallsBackToSingleReservation_forUnplacedRequests() {
+    LocalDate date = LocalDate.of(2026, 1, 12);
+    CreateAppointmentRequest req =
+        CreateAppointmentRequest.builder()
+            .branchId(1L)
+            .appointmentDate(date)
+            .startTime(LocalTime.of(9, 0))
+            .endTime(LocalTime.of(10, 0))
+            .name("Jaco")
+            .build();
+
+    doReturn(true).when(bookingBatcher).isEnabled();
+    runTransactionsInline();
+    when(appointmentReservationRepository.reserveAll(eq(1L), anyList()))
+        .thenReturn(List.of(Optional.empty()));
+    when(appointmentReservationRepository.reserve(any(), eq(0), eq(true)))
+        .thenAnswer(
+            inv -> {
+              AppointmentEntity e = inv.getArgument(0);
+              e.setId(7L);
+              return Optional.of(e);
+            });
+
+    AppointmentDto dto = service.createAppointment(req);
+
+    assertThat(dto.id()).isEqualTo(7L);
+    verify(slotCapacityService).adjustBooked(1L, date, LocalTime.of(9, 0), LocalTime.of(10, 0), 1);
+    verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forDate(1L, date));
+    verify(outboxService).append(OutboxEventType.APPOINTMENT_BOOKED, 7L, dto);
   }
 
   @Test
   void getAvailableAppointments_throws_whenBranchNotFound() {
-    when(branchRepository.findById(1L)).thenReturn(Optional.empty());
+    when(slotCapacityService.getTimeslots(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2)))
+        .thenThrow(new RuntimeException("Branch not found"));
 
     assertThatThrownBy(
             () ->
@@ -135,90 +217,101 @@ class AppointmentServiceTest {
         .isInstanceOf(RuntimeException.class)
         .hasMessageContaining("Branch not found");
 
-    verify(branchRepository).findById(1L);
+    verify(availabilityCache, never()).putAll(anyLong(), anyLong(), anyLong(), any());
   }
 
   @Test
-  void
-      getAvailableAppointments_buildsTimeslots_marksFullyBooked_whenBookedOrUnavailableConsumesCapacity() {
+  void getAvailableAppointments_omitsClosedDays() {
     Long branchId = 1L;
     LocalDate date = LocalDate.of(2026, 1, 12); // Monday
-    LocalDate startDate = date;
-    LocalDate endDate = date;
-
-    BranchEntity branch = new BranchEntity();
-    branch.setId(branchId);
-    branch.setTimeslotLength(60);
-
-    int dayOfWeek = 0;
-
-    BranchOperatingHoursEntity monHours = new BranchOperatingHoursEntity();
-    monHours.setBranchId(branchId);
-    monHours.setDayOfWeek(dayOfWeek);
-    monHours.setOpeningTime(LocalTime.of(9, 0));
-    monHours.setClosingTime(LocalTime.of(12, 0));
-    monHours.setClosed(false);
-
-    ResourceAvailabilityEntity emp = new ResourceAvailabilityEntity();
-    emp.setId(10L);
-    emp.setBranchId(branchId);
-    emp.setDayOfWeek(dayOfWeek);
-    emp.setStartTime(LocalTime.of(9, 0));
-    emp.setEndTime(LocalTime.of(12, 0));
-
-    AppointmentEntity booked = new AppointmentEntity();
-    booked.setId(200L);
-    booked.setBranchId(branchId);
-    booked.setAppointmentDate(date);
-    booked.setStartTime(LocalTime.of(10, 0));
-    booked.setEndTime(LocalTime.of(11, 0));
-    booked.setStatus(BookingStatus.BOOKED);
-
-    ResourceUnavailabilityEntity unavail = new ResourceUnavailabilityEntity();
-    unavail.setId(300L);
-    unavail.setBranchId(branchId);
-    unavail.setDate(date);
-    unavail.setStartTime(LocalTime.of(11, 0));
-    unavail.setEndTime(LocalTime.of(12, 0));
-    unavail.setAvailableResourceId(10L);
-
-    when(branchRepository.findById(branchId)).thenReturn(Optional.of(branch));
-    when(branchOperatingHoursRepository.getOpenByBranchId(branchId)).thenReturn(List.of(monHours));
-
-    when(resourceAvailabilityRepository.getAvailabilitiesForBranchBetweenDates(
-            branchId, startDate, endDate))
-        .thenReturn(List.of(emp));
-
-    when(appointmentRepository.findForBranchBetweenDates(branchId, startDate, endDate))
-        .thenReturn(List.of(booked));
-
-    when(resourceUnavailabilityRepository.findForBranchBetweenDates(branchId, startDate, endDate))
-        .thenReturn(List.of(unavail));
+    List<Timeslot> monday =
+        List.of(
+            new Timeslot(LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.AVAILABLE),
+            new Timeslot(
+                LocalTime.of(10, 0), LocalTime.of(11, 0), AvailabilityStatus.FULLY_BOOKED));
+
+    when(slotCapacityService.getTimeslots(branchId, date, date.plusDays(1)))
+        .thenReturn(Map.of(date, monday, date.plusDays(1), List.of()));
 
     Map<LocalDate, List<Timeslot>> result =
-        service.getAvailableAppointments(branchId, startDate, endDate);
+        service.getAvailableAppointments(branchId, date, date.plusDays(1));
 
-    assertThat(result).isNotNull();
-    assertThat(result).containsKey(date);
-
-    List<Timeslot> slots = result.get(date);
-    assertThat(slots).isNotNull();
-
-    assertThat(slots)
-        .extracting(Timeslot::startTime)
-        .containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0));
-
-    assertThat(slots.get(0).status()).isEqualTo(AvailabilityStatus.AVAILABLE);
-    assertThat(slots.get(1).status()).isEqualTo(AvailabilityStatus.FULLY_BOOKED);
-    assertThat(slots.get(2).status()).isEqualTo(AvailabilityStatus.FULLY_BOOKED);
-
-    verify(branchRepository).findById(branchId);
-    verify(branchOperatingHoursRepository).getOpenByBranchId(branchId);
-    verify(resourceAvailabilityRepository)
-        .getAvailabilitiesForBranchBetweenDates(branchId, startDate, endDate);
-    verify(appointmentRepository).findForBranchBetweenDates(branchId, startDate, endDate);
-    verify(resourceUnavailabilityRepository)
-        .findForBranchBetweenDates(branchId, startDate, endDate);
+    assertThat(result).containsOnlyKeys(date);
+    assertThat(result.get(date)).isEqualTo(monday);
+  }
+
+  @Test
+  void getAvailableAppointments_servesRepeatedRequestsFromCache_untilInvalidated() {
+    Long branchId = 1L;
+    LocalDate date = LocalDate.of(2026, 1, 12); // Monday
+    List<Timeslot> slots =
+        List.of(
+            new Timeslot(LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.AVAILABLE));
+
+    when(slotCapacityService.getTimeslots(branchId, date, date.plusDays(1)))
+        .thenReturn(Map.of(date, slots, date.plusDays(1), List.of()));
+    when(slotCapacityService.getTimeslots(branchId, date, date)).thenReturn(Map.of(date, slots));
+
+    Map<LocalDate, List<Timeslot>> first =
+        service.getAvailableAppointments(branchId, date, date.plusDays(1));
+    Map<LocalDate, List<Timeslot>> second =
+        service.getAvailableAppointments(branchId, date, date.plusDays(1));
+
+    assertThat(second).isEqualTo(first).containsOnlyKeys(date);
+    verify(slotCapacityService, times(1)).getTimeslots(branchId, date, date.plusDays(1));
+
+    availabilityCache.onAvailabilityChanged(AvailabilityChangedEvent.forDate(branchId, date));
+    service.getAvailableAppointments(branchId, date, date.plusDays(1));
+
+    verify(slotCapacityService).getTimeslots(branchId, date, date);
+  }
+
+  @Test
+  void getAvailableAppointments_recomputes_whenTheDataVersionMovedOnAnotherNode() {
+    Long branchId = 1L;
+    LocalDate date = LocalDate.of(2026, 1, 12);
+    List<Timeslot> before =
+        List.of(
+            new Timeslot(LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.AVAILABLE));
+    List<Timeslot> after =
+        List.of(
+            new Timeslot(LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.FULLY_BOOKED));
+    when(slotCapacityService.getTimeslots(branchId, date, date))
+        .thenReturn(Map.of(date, before), Map.of(date, after));
+    when(branchDataVersionService.current(branchId)).thenReturn(41L, 41L, 42L);
+
+    service.getAvailableAppointments(branchId, date, date);
+    assertThat(service.getAvailableAppointments(branchId, date, date)).containsEntry(date, before);
+    assertThat(service.getAvailableAppointments(branchId, date, date)).containsEntry(date, after);
+
+    verify(slotCapacityService, times(2)).getTimeslots(branchId, date, date);
+  }
+
+  @Test
+  void createAppointment_publishesAvailabilityChange_forBookedDate() {
+    LocalDate date = LocalDate.of(2026, 1, 12);
+    CreateAppointmentRequest req =
+        CreateAppointmentRequest.builder()
+            .branchId(1L)
+            .appointmentDate(date)
+            .startTime(LocalTime.of(9, 0))
+            .endTime(LocalTime.of(10, 0))
+            .name("Jaco")
+            .build();
+
+    when(appointmentReservationRepository.reserve(any(), eq(0), eq(true)))
+        .thenAnswer(inv -> Optional.of(inv.getArgument(0)));
+    runTransactionsInline();
+
+    service.createAppointment(req);
+
+    verify(slotCapacityService).adjustBooked(1L, date, LocalTime.of(9, 0), LocalTime.of(10, 0), 1);
+    verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forDate(1L, date));
+    verify(outboxService)
+        .append(
+            eq(OutboxEventType.APPOINTMENT_BOOKED),
+            any(),
+            argThat(booked -> ((AppointmentDto) booked).appointmentDate().equals(date)));
   }
 
   @Test
@@ -262,7 +355,7 @@ class AppointmentServiceTest {
         .hasMessageContaining("Appointment not found");
 
     verify(appointmentRepository).findById(999L);
-    verify(appointmentRepository, never()).save(any());
+    verify(appointmentRepository, never()).cancelBooked(any());
   }
 
   @Test
@@ -278,7 +371,7 @@ class AppointmentServiceTest {
         .hasMessageContaining("not in a booked state");
 
     verify(appointmentRepository).findById(10L);
-    verify(appointmentRepository, never()).save(any());
+    verify(appointmentRepository, never()).cancelBooked(any());
   }
 
   @Test
@@ -288,14 +381,41 @@ class AppointmentServiceTest {
     existing.setStatus(BookingStatus.BOOKED);
 
     when(appointmentRepository.findById(10L)).thenReturn(Optional.of(existing));
-    when(appointmentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(appointmentRepository.cancelBooked(10L)).thenReturn(1);
 
     service.cancelAppointment(10L);
 
-    ArgumentCaptor<AppointmentEntity> captor = ArgumentCaptor.forClass(AppointmentEntity.class);
-    verify(appointmentRepository).save(captor.capture());
+    verify(appointmentRepository, never()).save(any());
 
-    AppointmentEntity saved = captor.getValue();
-    assertThat(saved.getStatus()).isEqualTo(BookingStatus.USER_CANCELLED);
+    verify(slotCapacityService)
+        .adjustBooked(
+            existing.getBranchId(),
+            existing.getAppointmentDate(),
+            existing.getStartTime(),
+            existing.getEndTime(),
+            -1);
+    verify(outboxService)
+        .append(
+            eq(OutboxEventType.APPOINTMENT_CANCELLED),
+            eq(10L),
+            argThat(
+                cancelled ->
+                    ((AppointmentDto) cancelled).status() == BookingStatus.USER_CANCELLED));
+  }
+
+  @Test
+  void cancelAppointment_throws_andReleasesNothing_whenCancelledConcurrently() {
+    AppointmentEntity existing = new AppointmentEntity();
+    existing.setId(10L);
+    existing.setStatus(BookingStatus.BOOKED);
+
+    when(appointmentRepository.findById(10L)).thenReturn(Optional.of(existing));
+    when(appointmentRepository.cancelBooked(10L)).thenReturn(0);
+
+    assertThatThrownBy(() -> service.cancelAppointment(10L))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("not in a booked state");
+
+    verifyNoInteractions(slotCapacityService, outboxService);
   }
 }
@@ -0,0 +1,136 @@
+package branchmaster.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.BranchRepository;
+import branchmaster.repository.entity.BranchEntity;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.FreeSlot;
+import branchmaster.service.model.SlotSearchOrder;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilitySearchServiceTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2026, 1, 12);
+
+  @Mock BranchRepository branchRepository;
+  @Mock AppointmentService appointmentService;
+
+  AvailabilitySearchService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AvailabilitySearchService(branchRepository, appointmentService, 2, 31);
+  }
+
+  @Test
+  void findFreeSlots_ordersByTime_andStopsAfterFirstWindowWithEnoughSlots() {
+    BranchEntity near = branch(1L, "Near", -25.75, 28.19);
+    BranchEntity far = branch(2L, "Far", -26.20, 28.04);
+    when(branchRepository.getAllActiveBranchesSorted()).thenReturn(List.of(near, far));
+
+    LocalDate windowEnd = MONDAY.plusDays(6);
+    when(appointmentService.getAvailableAppointments(1L, MONDAY, windowEnd))
+        .thenReturn(Map.of(MONDAY, List.of(slot(10, AvailabilityStatus.AVAILABLE))));
+    when(appointmentService.getAvailableAppointments(2L, MONDAY, windowEnd))
+        .thenReturn(
+            Map.of(
+                MONDAY,
+                List.of(
+                    slot(9, AvailabilityStatus.AVAILABLE),
+                    slot(11, AvailabilityStatus.FULLY_BOOKED))));
+
+    List<FreeSlot> result =
+        service.findFreeSlots(
+            MONDAY, MONDAY.plusDays(30), null, null, null, 2, SlotSearchOrder.TIME);
+
+    assertThat(result).extracting(FreeSlot::branchId).containsExactly(2L, 1L);
+    assertThat(result)
+        .extracting(FreeSlot::startTime)
+        .containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 0));
+    verify(appointmentService, times(2)).getAvailableAppointments(anyLong(), any(), any());
+  }
+
+  @Test
+  void findFreeSlots_ordersByDistance_andFiltersByRadius() {
+    BranchEntity pretoria = branch(1L, "Pretoria", -25.75, 28.19);
+    BranchEntity centurion = branch(2L, "Centurion", -25.86, 28.19);
+    BranchEntity capeTown = branch(3L, "Cape Town", -33.92, 18.42);
+    BranchEntity unknown = branch(4L, "Unknown", null, null);
+    when(branchRepository.getAllActiveBranchesSorted())
+        .thenReturn(List.of(pretoria, centurion, capeTown, unknown));
+
+    when(appointmentService.getAvailableAppointments(anyLong(), eq(MONDAY), eq(MONDAY)))
+        .thenReturn(Map.of(MONDAY, List.of(slot(9, AvailabilityStatus.AVAILABLE))));
+
+    List<FreeSlot> result =
+        service.findFreeSlots(MONDAY, MONDAY, -25.87, 28.19, 50.0, 10, SlotSearchOrder.DISTANCE);
+
+    assertThat(result).extracting(FreeSlot::branchName).containsExactly("Centurion", "Pretoria");
+    assertThat(result.get(0).distanceKm()).isLessThan(result.get(1).distanceKm());
+    verify(appointmentService, never()).getAvailableAppointments(eq(3L), any(), any());
+    verify(appointmentService, never()).getAvailableAppointments(eq(4L), any(), any());
+  }
+
+  @Test
+  void findFreeSlots_skipsBranchThatFails() {
+    when(branchRepository.getAllActiveBranchesSorted())
+        .thenReturn(List.of(branch(1L, "Broken", null, null), branch(2L, "Fine", null, null)));
+    when(appointmentService.getAvailableAppointments(1L, MONDAY, MONDAY))
+        .thenThrow(new RuntimeException("Branch not found"));
+    when(appointmentService.getAvailableAppointments(2L, MONDAY, MONDAY))
+        .thenReturn(Map.of(MONDAY, List.of(slot(9, AvailabilityStatus.AVAILABLE))));
+
+    List<FreeSlot> result =
+        service.findFreeSlots(MONDAY, MONDAY, null, null, null, 5, SlotSearchOrder.TIME);
+
+    assertThat(result).extracting(FreeSlot::branchId).containsExactly(2L);
+  }
+
+  @Test
+  void findFreeSlots_throws_whenDistanceOrderWithoutLocation() {
+    assertThatThrownBy(
+            () ->
+                service.findFreeSlots(
+                    MONDAY, MONDAY, null, null, null, 5, SlotSearchOrder.DISTANCE))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    verifyNoInteractions(branchRepository, appointmentService);
+  }
+
+  @Test
+  void findFreeSlots_throws_whenRangeIsLongerThanTheLimit() {
+    assertThatThrownBy(
+            () ->
+                service.findFreeSlots(
+                    MONDAY, MONDAY.plusDays(31), null, null, null, 5, SlotSearchOrder.TIME))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("31 days");
+
+    verifyNoInteractions(branchRepository, appointmentService);
+  }
+
+  private static BranchEntity branch(Long id, String name, Double latitude, Double longitude) {
+    BranchEntity branch = new BranchEntity();
+    branch.setId(id);
+    branch.setName(name);
+    branch.setLatitude(latitude);
+    branch.setLongitude(longitude);
+    return branch;
+  }
+
+  private static Timeslot slot(int hour, AvailabilityStatus status) {
+    return new Timeslot(LocalTime.of(hour, 0), LocalTime.of(hour, 30), status);
+  }
+}
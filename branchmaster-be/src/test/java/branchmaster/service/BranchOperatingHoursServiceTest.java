@@ -19,12 +19,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class BranchOperatingHoursServiceTest {
 
   @Mock BranchOperatingHoursRepository repo;
   @Mock AdminActionAuditService auditService;
+  @Mock ApplicationEventPublisher eventPublisher;
 
   @InjectMocks BranchOperatingHoursService service;
 
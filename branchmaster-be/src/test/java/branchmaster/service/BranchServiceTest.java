@@ -8,6 +8,7 @@ import branchmaster.admin.model.UpdateBranchRequest;
 import branchmaster.audit.AdminActionAuditService;
 import branchmaster.repository.BranchRepository;
 import branchmaster.repository.entity.BranchEntity;
+import branchmaster.service.catalogue.BranchCatalogueChangedEvent;
 import branchmaster.service.model.BranchDto;
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class BranchServiceTest {
@@ -23,6 +25,7 @@ class BranchServiceTest {
 
   @InjectMocks BranchService service;
   @Mock AdminActionAuditService auditService;
+  @Mock ApplicationEventPublisher eventPublisher;
 
   @Test
   void getAllOpenBranches_throws_whenRepoReturnsEmpty() {
@@ -191,6 +194,7 @@ class BranchServiceTest {
     assertThat(result.id()).isEqualTo(10L);
 
     verify(branchRepository).findById(10L);
+    verify(eventPublisher).publishEvent(new BranchCatalogueChangedEvent(10L));
   }
 
   @Test
@@ -222,6 +226,7 @@ class BranchServiceTest {
 
     ArgumentCaptor<BranchEntity> captor = ArgumentCaptor.forClass(BranchEntity.class);
     verify(branchRepository).save(captor.capture());
+    verify(eventPublisher).publishEvent(new BranchCatalogueChangedEvent(99L));
 
     BranchEntity saved = captor.getValue();
     assertThat(saved.getId()).isEqualTo(99L);
@@ -4,10 +4,12 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import branchmaster.audit.AdminActionAuditService;
+import branchmaster.audit.entity.ActionType;
 import branchmaster.repository.ResourceAvailabilityRepository;
 import branchmaster.repository.ResourceUnavailabilityRepository;
 import branchmaster.repository.entity.ResourceAvailabilityEntity;
 import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.service.availability.SlotCapacityService;
 import branchmaster.service.model.ResourceAvailabilityDto;
 import branchmaster.service.model.ResourceUnavailabilityDto;
 import java.time.LocalDate;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class ResourceServiceTest {
@@ -27,6 +30,8 @@ class ResourceServiceTest {
 
   @InjectMocks ResourceService service;
   @Mock AdminActionAuditService auditService;
+  @Mock ApplicationEventPublisher eventPublisher;
+  @Mock SlotCapacityService slotCapacityService;
 
   @Test
   void getAvailableResourcesForBranch_returnsEmptyList_whenRepoReturnsEmpty() {
@@ -205,6 +210,17 @@ class ResourceServiceTest {
     verify(availabilityRepo).deleteById(10L);
   }
 
+  @Test
+  void deleteResourceAvailability_propagatesAuditFailure_soTheDeleteRollsBack() {
+    doThrow(new IllegalStateException("outbox down"))
+        .when(auditService)
+        .log(eq(ActionType.DELETE_RESOURCE_AVAILABILITY), any());
+
+    assertThatThrownBy(() -> service.deleteResourceAvailability(10L))
+        .isInstanceOf(IllegalStateException.class);
+    verifyNoInteractions(eventPublisher);
+  }
+
   @Test
   void createResourceUnavailability_savesEntity_andReturnsDto() {
     when(unavailabilityRepo.save(any()))
@@ -236,6 +252,9 @@ class ResourceServiceTest {
     assertThat(saved.getAvailableResourceId()).isEqualTo(10L);
     assertThat(saved.getReason()).isEqualTo("Sick leave");
 
+    verify(slotCapacityService)
+        .adjustBlocked(1L, LocalDate.of(2026, 1, 10), LocalTime.of(9, 0), LocalTime.of(10, 0), 1);
+
     assertThat(dto).isNotNull();
   }
 
@@ -245,6 +264,7 @@ class ResourceServiceTest {
     existing.setId(10L);
     existing.setBranchId(1L);
     existing.setAvailableResourceId(5L);
+    existing.setDate(LocalDate.of(2026, 2, 1));
 
     when(unavailabilityRepo.findById(10L)).thenReturn(Optional.of(existing));
     when(unavailabilityRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
@@ -263,6 +283,10 @@ class ResourceServiceTest {
     assertThat(saved.getDate()).isEqualTo(LocalDate.of(2026, 2, 2));
     assertThat(saved.getAvailableResourceId()).isEqualTo(77L);
     assertThat(saved.getReason()).isEqualTo("Training");
+
+    verify(slotCapacityService).adjustBlocked(1L, LocalDate.of(2026, 2, 1), null, null, -1);
+    verify(slotCapacityService)
+        .adjustBlocked(1L, LocalDate.of(2026, 2, 2), LocalTime.of(11, 0), LocalTime.of(12, 0), 1);
   }
 
   @Test
@@ -0,0 +1,113 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import branchmaster.repository.BranchDataVersionRepository;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** The data version must move only after the cache dropped the changed days. */
+@SpringJUnitConfig(AvailabilityListenerOrderTest.Config.class)
+class AvailabilityListenerOrderTest {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 1, 12);
+
+  @Autowired ApplicationEventPublisher publisher;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired AvailabilityCache availabilityCache;
+  @Autowired BranchDataVersionRepository branchDataVersionRepository;
+
+  private final List<List<Timeslot>> cachedAtBump = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    availabilityCache.putAll(
+        1L,
+        availabilityCache.generation(1L),
+        0L,
+        Map.of(
+            DATE,
+            List.of(
+                new Timeslot(
+                    LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.AVAILABLE))));
+    when(branchDataVersionRepository.bump(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              cachedAtBump.add(availabilityCache.get(1L, DATE, 0L));
+              return 1L;
+            });
+  }
+
+  @Test
+  void afterCommit_evictsTheCacheBeforeBumpingTheVersion() {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> publisher.publishEvent(AvailabilityChangedEvent.forDate(1L, DATE)));
+
+    assertThat(cachedAtBump).hasSize(1).containsOnlyNulls();
+  }
+
+  @Test
+  void withoutTransaction_evictsTheCacheBeforeBumpingTheVersion() {
+    publisher.publishEvent(AvailabilityChangedEvent.forDate(1L, DATE));
+
+    assertThat(cachedAtBump).hasSize(1).containsOnlyNulls();
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  @Import({BranchDataVersionService.class})
+  static class Config {
+
+    @Bean
+    AvailabilityCache availabilityCache() {
+      return new AvailabilityCache(100);
+    }
+
+    @Bean
+    BranchDataVersionRepository branchDataVersionRepository() {
+      return mock(BranchDataVersionRepository.class);
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+      return new AbstractPlatformTransactionManager() {
+        @Override
+        protected Object doGetTransaction() {
+          return new Object();
+        }
+
+        @Override
+        protected void doBegin(
+            Object transaction, org.springframework.transaction.TransactionDefinition definition) {}
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+      };
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.service.AppointmentService;
+import branchmaster.service.model.AvailabilityDelta;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import branchmaster.service.model.TimeslotDelta;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityStreamHubTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2026, 1, 12);
+  private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+  @Mock AppointmentService appointmentService;
+
+  @Test
+  void diff_reportsStatusChanges_onAnUnchangedGrid() {
+    AvailabilityDelta delta =
+        AvailabilityStreamHub.diff(
+            Map.of(
+                MONDAY,
+                List.of(
+                    slot(9, AvailabilityStatus.AVAILABLE), slot(10, AvailabilityStatus.AVAILABLE))),
+            Map.of(
+                MONDAY,
+                List.of(
+                    slot(9, AvailabilityStatus.FULLY_BOOKED),
+                    slot(10, AvailabilityStatus.AVAILABLE))));
+
+    assertThat(delta.slots())
+        .containsExactly(
+            new TimeslotDelta(
+                MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), AvailabilityStatus.FULLY_BOOKED));
+    assertThat(delta.days()).isEmpty();
+  }
+
+  @Test
+  void diff_replacesWholeDays_whoseGridChanged() {
+    AvailabilityDelta delta =
+        AvailabilityStreamHub.diff(
+            Map.of(
+                MONDAY, List.of(slot(9, AvailabilityStatus.AVAILABLE)),
+                TUESDAY, List.of(slot(9, AvailabilityStatus.AVAILABLE))),
+            Map.of(
+                MONDAY,
+                    List.of(
+                        slot(9, AvailabilityStatus.AVAILABLE),
+                        slot(10, AvailabilityStatus.AVAILABLE)),
+                TUESDAY, List.of()));
+
+    assertThat(delta.slots()).isEmpty();
+    assertThat(delta.days())
+        .containsExactly(
+            entry(
+                MONDAY,
+                List.of(
+                    slot(9, AvailabilityStatus.AVAILABLE), slot(10, AvailabilityStatus.AVAILABLE))),
+            entry(TUESDAY, List.of()));
+  }
+
+  @Test
+  void diff_isEmpty_whenNothingChanged() {
+    Map<LocalDate, List<Timeslot>> same =
+        Map.of(MONDAY, List.of(slot(9, AvailabilityStatus.AVAILABLE)));
+
+    AvailabilityDelta delta = AvailabilityStreamHub.diff(same, same);
+
+    assertThat(delta.slots()).isEmpty();
+    assertThat(delta.days()).isEmpty();
+  }
+
+  @Test
+  void subscribe_rejectsRangesLongerThanTheLimit() {
+    AvailabilityStreamHub hub = hub(10, 7);
+
+    assertThatThrownBy(() -> hub.subscribe(1L, MONDAY, MONDAY.plusDays(7)))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(appointmentService);
+  }
+
+  @Test
+  void subscribe_rejectsConnectionsOverTheLimit_andReleasesSlotsOnFailure() {
+    AvailabilityStreamHub hub = hub(1, 7);
+    when(appointmentService.getAvailableAppointments(1L, MONDAY, MONDAY))
+        .thenThrow(new RuntimeException("Branch not found"))
+        .thenReturn(Map.of());
+
+    assertThatThrownBy(() -> hub.subscribe(1L, MONDAY, MONDAY)).hasMessage("Branch not found");
+    assertThat(hub.connectionCount()).isZero();
+
+    hub.subscribe(1L, MONDAY, MONDAY);
+    assertThat(hub.connectionCount()).isEqualTo(1);
+    assertThatThrownBy(() -> hub.subscribe(1L, MONDAY, MONDAY))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  private AvailabilityStreamHub hub(int maxConnections, int maxRangeDays) {
+    return new AvailabilityStreamHub(
+        appointmentService,
+        Duration.ofMillis(10),
+        Duration.ofMinutes(1),
+        maxConnections,
+        maxRangeDays);
+  }
+
+  private static Timeslot slot(int hour, AvailabilityStatus status) {
+    return new Timeslot(LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), status);
+  }
+}
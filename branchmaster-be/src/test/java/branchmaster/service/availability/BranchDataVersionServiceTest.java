@@ -0,0 +1,47 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.BranchDataVersionRepository;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BranchDataVersionServiceTest {
+
+  @Mock BranchDataVersionRepository branchDataVersionRepository;
+
+  @InjectMocks BranchDataVersionService service;
+
+  @Test
+  void current_returnsStoredVersion_orZeroWhenBranchHasNone() {
+    when(branchDataVersionRepository.find(1L)).thenReturn(Optional.of(42L));
+    when(branchDataVersionRepository.find(2L)).thenReturn(Optional.empty());
+
+    assertThat(service.current(1L)).isEqualTo(42L);
+    assertThat(service.current(2L)).isZero();
+  }
+
+  @Test
+  void onAvailabilityChanged_bumpsTheBranch_forDateAndBranchWideChanges() {
+    service.onAvailabilityChanged(AvailabilityChangedEvent.forDate(1L, LocalDate.of(2026, 1, 12)));
+    service.onAvailabilityChanged(AvailabilityChangedEvent.forBranch(2L));
+
+    verify(branchDataVersionRepository).bump(1L);
+    verify(branchDataVersionRepository).bump(2L);
+  }
+
+  @Test
+  void onAvailabilityChanged_doesNotPropagateFailures() {
+    when(branchDataVersionRepository.bump(1L)).thenThrow(new IllegalStateException("DB down"));
+
+    assertThatCode(() -> service.onAvailabilityChanged(AvailabilityChangedEvent.forBranch(1L)))
+        .doesNotThrowAnyException();
+  }
+}
@@ -0,0 +1,89 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Cold reads for one branch queue on its exclusive rebuild lock while holding pooled connections,
+ * so with the default pool of 10 the loader holding the lock cannot borrow connections for its
+ * reads. Every read must still succeed.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+      "spring.flyway.placeholders.seed_demo_data=false",
+      "spring.datasource.hikari.maximum-pool-size=10",
+      "app.availability.loader=parallel",
+      "app.availability.loader-timeout=500ms",
+      "app.audit.writer.spill-file=target/loader-pool-audit-spill.ndjson"
+    })
+class ParallelLoaderPoolTest {
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @Autowired SlotCapacityService slotCapacityService;
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @Test
+  void getTimeslots_succeedsForEveryConcurrentColdRead_withTheDefaultPool() throws Exception {
+    Long branchId =
+        jdbcTemplate.queryForObject(
+            """
+                INSERT INTO branch_master.branch (name, timeslot_length, active, address, city, postal_code)
+                VALUES ('Branch', 30, true, 'Street', 'City', '0000')
+                RETURNING id
+            """,
+            Long.class);
+    jdbcTemplate.update(
+        """
+            INSERT INTO branch_master.branch_operating_hours
+                (branch_id, opening_time, closing_time, day_of_week)
+            SELECT ?, TIME '08:00', TIME '17:00', d FROM generate_series(0, 6) d
+        """,
+        branchId);
+    jdbcTemplate.update(
+        """
+            INSERT INTO branch_master.resource_availability
+                (branch_id, day_of_week, start_time, end_time, name)
+            SELECT ?, d, TIME '08:00', TIME '17:00', 'Desk ' || d FROM generate_series(0, 6) d
+        """,
+        branchId);
+
+    LocalDate today = LocalDate.now();
+    List<Future<?>> reads = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int day = 0; day < 40; day++) {
+        LocalDate date = today.plusDays(day);
+        reads.add(executor.submit(() -> slotCapacityService.getTimeslots(branchId, date, date)));
+      }
+    }
+
+    for (Future<?> read : reads) {
+      assertThatCode(read::get).doesNotThrowAnyException();
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.AppointmentRepository;
+import branchmaster.repository.BranchOperatingHoursRepository;
+import branchmaster.repository.BranchRepository;
+import branchmaster.repository.ResourceAvailabilityRepository;
+import branchmaster.repository.ResourceUnavailabilityRepository;
+import branchmaster.repository.entity.BranchEntity;
+import branchmaster.repository.entity.BranchOperatingHoursEntity;
+import branchmaster.repository.entity.ResourceUnavailabilityEntity;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelSnapshotLoaderTest {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 1, 12);
+
+  @Mock BranchRepository branchRepository;
+  @Mock BranchOperatingHoursRepository branchOperatingHoursRepository;
+  @Mock ResourceAvailabilityRepository resourceAvailabilityRepository;
+  @Mock AppointmentRepository appointmentRepository;
+  @Mock ResourceUnavailabilityRepository resourceUnavailabilityRepository;
+
+  ParallelSnapshotLoader loader;
+
+  @BeforeEach
+  void setUp() {
+    loader = loader(Duration.ofSeconds(2), 10);
+  }
+
+  private ParallelSnapshotLoader loader(Duration timeout, int poolSize) {
+    return new ParallelSnapshotLoader(
+        branchRepository,
+        branchOperatingHoursRepository,
+        resourceAvailabilityRepository,
+        appointmentRepository,
+        resourceUnavailabilityRepository,
+        timeout,
+        poolSize);
+  }
+
+  @Test
+  void load_combinesAllReads_intoSnapshot() {
+    BranchEntity branch = new BranchEntity();
+    branch.setTimeslotLength(30);
+
+    BranchOperatingHoursEntity hours = new BranchOperatingHoursEntity();
+    hours.setDayOfWeek(0);
+    hours.setOpeningTime(LocalTime.of(8, 0));
+    hours.setClosingTime(LocalTime.of(17, 0));
+
+    ResourceUnavailabilityEntity wholeDay = new ResourceUnavailabilityEntity();
+    wholeDay.setDate(DATE);
+
+    when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+    when(branchOperatingHoursRepository.getOpenByBranchId(1L)).thenReturn(List.of(hours));
+    when(resourceUnavailabilityRepository.findForBranchBetweenDates(1L, DATE, DATE))
+        .thenReturn(List.of(wholeDay));
+
+    Optional<AvailabilitySnapshot> snapshot = loader.load(1L, DATE, DATE);
+
+    assertThat(snapshot).isPresent();
+    assertThat(snapshot.get().timeslotLength()).isEqualTo(30);
+    assertThat(snapshot.get().openingHours()).containsExactly(new OpeningHours(0, 480, 1020));
+    assertThat(snapshot.get().resourceUnavailabilities())
+        .containsExactly(new Interval(DATE, Interval.WHOLE_DAY, Interval.WHOLE_DAY));
+    verify(appointmentRepository).findForBranchBetweenDates(1L, DATE, DATE);
+    verify(resourceAvailabilityRepository).getAvailabilitiesForBranchBetweenDates(1L, DATE, DATE);
+  }
+
+  @Test
+  void load_returnsEmpty_whenBranchNotFound() {
+    when(branchRepository.findById(1L)).thenReturn(Optional.empty());
+
+    assertThat(loader.load(1L, DATE, DATE)).isEmpty();
+  }
+
+  @Test
+  void load_rethrowsFirstFailure() {
+    when(appointmentRepository.findForBranchBetweenDates(1L, DATE, DATE))
+        .thenThrow(new IllegalStateException("DB down"));
+
+    assertThatThrownBy(() -> loader.load(1L, DATE, DATE))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("DB down");
+  }
+
+  @Test
+  void load_readsOnOtherThreads_whenThePoolCanLendConnections() {
+    Thread caller = Thread.currentThread();
+    List<Thread> readers = new CopyOnWriteArrayList<>();
+    when(branchRepository.findById(1L))
+        .thenAnswer(
+            invocation -> {
+              readers.add(Thread.currentThread());
+              return Optional.empty();
+            });
+
+    loader.load(1L, DATE, DATE);
+
+    assertThat(readers).hasSize(1).doesNotContain(caller);
+  }
+
+  @Test
+  void load_readsOnTheCallersThread_whenThePoolIsTooSmallToLend() {
+    Thread caller = Thread.currentThread();
+    List<Thread> readers = new CopyOnWriteArrayList<>();
+    when(branchRepository.findById(1L))
+        .thenAnswer(
+            invocation -> {
+              readers.add(Thread.currentThread());
+              return Optional.empty();
+            });
+
+    loader(Duration.ofSeconds(2), 8).load(1L, DATE, DATE);
+
+    assertThat(readers).containsExactly(caller);
+  }
+
+  @Test
+  void load_readsOnTheCallersThread_whenParallelReadsTimeOut() {
+    Thread caller = Thread.currentThread();
+    BranchEntity branch = new BranchEntity();
+    branch.setTimeslotLength(30);
+    when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+    // Stands in for a read stuck waiting for a pooled connection.
+    when(appointmentRepository.findForBranchBetweenDates(1L, DATE, DATE))
+        .thenAnswer(
+            invocation -> {
+              if (Thread.currentThread() != caller) {
+                Thread.sleep(Duration.ofSeconds(10));
+              }
+              return List.of();
+            });
+
+    Optional<AvailabilitySnapshot> snapshot =
+        loader(Duration.ofMillis(100), 10).load(1L, DATE, DATE);
+
+    assertThat(snapshot).isPresent();
+    verify(appointmentRepository, times(2)).findForBranchBetweenDates(1L, DATE, DATE);
+  }
+}
@@ -0,0 +1,166 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.repository.SlotCapacityRepository;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SlotCapacityServiceTest {
+
+  private static final LocalDate MONDAY =
+      LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+  @Mock SlotCapacityRepository slotCapacityRepository;
+  @Mock AvailabilitySnapshotLoader availabilitySnapshotLoader;
+
+  SlotCapacityService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new SlotCapacityService(slotCapacityRepository, availabilitySnapshotLoader, 30);
+  }
+
+  @Test
+  void getTimeslots_readsBuiltDays_withoutLoadingSnapshot() {
+    Map<LocalDate, List<SlotCapacity>> built = new LinkedHashMap<>();
+    built.put(
+        MONDAY,
+        List.of(
+            new SlotCapacity(LocalTime.of(9, 0), LocalTime.of(10, 0), 2, 1, 0),
+            new SlotCapacity(LocalTime.of(10, 0), LocalTime.of(11, 0), 2, 1, 1)));
+    built.put(MONDAY.plusDays(1), List.of());
+    when(slotCapacityRepository.findBuilt(1L, MONDAY, MONDAY.plusDays(1))).thenReturn(built);
+
+    Map<LocalDate, List<Timeslot>> result = service.getTimeslots(1L, MONDAY, MONDAY.plusDays(1));
+
+    assertThat(result).containsOnlyKeys(MONDAY, MONDAY.plusDays(1));
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::status)
+        .containsExactly(AvailabilityStatus.AVAILABLE, AvailabilityStatus.FULLY_BOOKED);
+    assertThat(result.get(MONDAY.plusDays(1))).isEmpty();
+    verifyNoInteractions(availabilitySnapshotLoader);
+  }
+
+  @Test
+  void getTimeslots_rebuildsMissingDays_fromSnapshot() {
+    LocalDate tuesday = MONDAY.plusDays(1);
+    Map<LocalDate, List<SlotCapacity>> built = new LinkedHashMap<>();
+    built.put(MONDAY, List.of());
+    when(slotCapacityRepository.findBuilt(1L, MONDAY, tuesday)).thenReturn(built);
+
+    AvailabilitySnapshot snapshot =
+        new AvailabilitySnapshot(
+            60,
+            List.of(new OpeningHours(1, 9 * 60, 11 * 60)),
+            List.of(new ResourceWindow(1, null, null, 9 * 60, 11 * 60)),
+            List.of(new Interval(tuesday, 9 * 60, 10 * 60)),
+            List.of());
+    when(availabilitySnapshotLoader.load(1L, tuesday, tuesday)).thenReturn(Optional.of(snapshot));
+
+    Map<LocalDate, List<Timeslot>> result = service.getTimeslots(1L, MONDAY, tuesday);
+
+    assertThat(result.get(tuesday))
+        .extracting(Timeslot::status)
+        .containsExactly(AvailabilityStatus.FULLY_BOOKED, AvailabilityStatus.AVAILABLE);
+
+    InOrder inOrder = inOrder(slotCapacityRepository);
+    inOrder.verify(slotCapacityRepository).lockExclusive(1L);
+    inOrder
+        .verify(slotCapacityRepository)
+        .replace(
+            1L,
+            tuesday,
+            tuesday,
+            Map.of(
+                tuesday,
+                List.of(
+                    new SlotCapacity(LocalTime.of(9, 0), LocalTime.of(10, 0), 1, 1, 0),
+                    new SlotCapacity(LocalTime.of(10, 0), LocalTime.of(11, 0), 1, 0, 0))));
+  }
+
+  @Test
+  void getTimeslots_storesOnlyDaysInsideTheHorizon_andComputesTheRest() {
+    LocalDate lastStored = LocalDate.now().plusDays(29);
+    LocalDate endDate = lastStored.plusDays(2);
+    LocalDate yesterday = LocalDate.now().minusDays(1);
+    when(slotCapacityRepository.findBuilt(1L, yesterday, endDate))
+        .thenReturn(new LinkedHashMap<>());
+
+    AvailabilitySnapshot snapshot =
+        new AvailabilitySnapshot(
+            60,
+            IntStream.range(0, 7).mapToObj(day -> new OpeningHours(day, 9 * 60, 10 * 60)).toList(),
+            IntStream.range(0, 7)
+                .mapToObj(day -> new ResourceWindow(day, null, null, 9 * 60, 10 * 60))
+                .toList(),
+            List.of(),
+            List.of());
+    when(availabilitySnapshotLoader.load(eq(1L), any(), any())).thenReturn(Optional.of(snapshot));
+
+    Map<LocalDate, List<Timeslot>> result = service.getTimeslots(1L, yesterday, endDate);
+
+    assertThat(result).hasSize(33).allSatisfy((date, slots) -> assertThat(slots).hasSize(1));
+    verify(slotCapacityRepository).lockExclusive(1L);
+    verify(slotCapacityRepository).replace(eq(1L), eq(LocalDate.now()), eq(lastStored), any());
+  }
+
+  @Test
+  void getTimeslots_neverLocksOrStores_outsideTheHorizon() {
+    LocalDate farOff = LocalDate.now().plusYears(5);
+    when(slotCapacityRepository.findBuilt(1L, farOff, farOff)).thenReturn(new LinkedHashMap<>());
+    when(availabilitySnapshotLoader.load(1L, farOff, farOff))
+        .thenReturn(
+            Optional.of(new AvailabilitySnapshot(60, List.of(), List.of(), List.of(), List.of())));
+
+    Map<LocalDate, List<Timeslot>> result = service.getTimeslots(1L, farOff, farOff);
+
+    assertThat(result).containsExactly(entry(farOff, List.of()));
+    verify(slotCapacityRepository).findBuilt(1L, farOff, farOff);
+    verifyNoMoreInteractions(slotCapacityRepository);
+  }
+
+  @Test
+  void rebuild_throws_whenBranchNotFound() {
+    when(availabilitySnapshotLoader.load(1L, MONDAY, MONDAY)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.rebuild(1L, MONDAY, MONDAY))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Branch not found");
+
+    verify(slotCapacityRepository, never()).replace(any(), any(), any(), any());
+  }
+
+  @Test
+  void onAvailabilityChanged_dropsBranch_onlyForBranchWideChanges() {
+    service.onAvailabilityChanged(AvailabilityChangedEvent.forDate(1L, MONDAY));
+    verifyNoInteractions(slotCapacityRepository);
+
+    service.onAvailabilityChanged(AvailabilityChangedEvent.forBranch(1L));
+
+    InOrder inOrder = inOrder(slotCapacityRepository);
+    inOrder.verify(slotCapacityRepository).lockShared(1L);
+    inOrder.verify(slotCapacityRepository).deleteBranch(1L);
+  }
+}
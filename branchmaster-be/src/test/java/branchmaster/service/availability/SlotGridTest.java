@@ -0,0 +1,219 @@
+package branchmaster.service.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.model.AvailabilityStatus;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SlotGridTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2026, 1, 12);
+
+  @Test
+  void compute_countsEveryResource_andSubtractsBookingsAndBlocks() {
+    ResourceWindow first = availability(0, 9, 12, null, null);
+    ResourceWindow second = availability(0, 9, 11, null, null);
+
+    Map<LocalDate, List<Timeslot>> result =
+        SlotGrid.compute(
+            snapshot(
+                60,
+                List.of(hours(0, 9, 12)),
+                List.of(first, second),
+                List.of(interval(MONDAY, 9, 10)),
+                List.of(interval(MONDAY, 10, 11))),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::status)
+        .containsExactly(
+            AvailabilityStatus.AVAILABLE,
+            AvailabilityStatus.AVAILABLE,
+            AvailabilityStatus.AVAILABLE);
+
+    result =
+        SlotGrid.compute(
+            snapshot(
+                60,
+                List.of(hours(0, 9, 12)),
+                List.of(first),
+                List.of(interval(MONDAY, 9, 10)),
+                List.of(interval(MONDAY, 10, 11))),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::status)
+        .containsExactly(
+            AvailabilityStatus.FULLY_BOOKED,
+            AvailabilityStatus.FULLY_BOOKED,
+            AvailabilityStatus.AVAILABLE);
+  }
+
+  @Test
+  void compute_skipsClosedDays_andRespectsAvailabilityDateWindow() {
+    LocalDate nextMonday = MONDAY.plusWeeks(1);
+    ResourceWindow mondayOnly = availability(0, 9, 10, MONDAY, MONDAY);
+    ResourceWindow nextWeek = availability(0, 9, 10, nextMonday, nextMonday);
+
+    Map<LocalDate, List<Timeslot>> result =
+        SlotGrid.compute(
+            snapshot(
+                60,
+                List.of(hours(0, 9, 10)),
+                List.of(mondayOnly, nextWeek),
+                List.of(interval(nextMonday, 9, 10)),
+                List.of()),
+            MONDAY,
+            nextMonday);
+
+    assertThat(result).containsOnlyKeys(MONDAY, nextMonday);
+    assertThat(result.get(MONDAY).get(0).status()).isEqualTo(AvailabilityStatus.AVAILABLE);
+    assertThat(result.get(nextMonday).get(0).status()).isEqualTo(AvailabilityStatus.FULLY_BOOKED);
+  }
+
+  @Test
+  void compute_treatsUnavailabilityWithoutTimesAsWholeDay() {
+    Interval wholeDay = new Interval(MONDAY, Interval.WHOLE_DAY, Interval.WHOLE_DAY);
+
+    Map<LocalDate, List<Timeslot>> result =
+        SlotGrid.compute(
+            snapshot(
+                30,
+                List.of(hours(0, 9, 11)),
+                List.of(availability(0, 9, 11, null, null)),
+                List.of(),
+                List.of(wholeDay)),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .hasSize(4)
+        .allMatch(slot -> slot.status() == AvailabilityStatus.FULLY_BOOKED);
+  }
+
+  @Test
+  void compute_countsBookingsThatDoNotAlignToTheGrid() {
+    Interval offGrid = new Interval(MONDAY, 9 * 60 + 15, 9 * 60 + 45);
+
+    Map<LocalDate, List<Timeslot>> result =
+        SlotGrid.compute(
+            snapshot(
+                30,
+                List.of(hours(0, 9, 11)),
+                List.of(availability(0, 9, 11, null, null)),
+                List.of(offGrid),
+                List.of()),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::status)
+        .containsExactly(
+            AvailabilityStatus.FULLY_BOOKED,
+            AvailabilityStatus.FULLY_BOOKED,
+            AvailabilityStatus.AVAILABLE,
+            AvailabilityStatus.AVAILABLE);
+  }
+
+  @Test
+  void compute_requiresResourceForWholeSlot() {
+    ResourceWindow lateStart = new ResourceWindow(0, null, null, 9 * 60 + 10, 11 * 60);
+
+    Map<LocalDate, List<Timeslot>> result =
+        SlotGrid.compute(
+            snapshot(30, List.of(hours(0, 9, 10)), List.of(lateStart), List.of(), List.of()),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::status)
+        .containsExactly(AvailabilityStatus.FULLY_BOOKED, AvailabilityStatus.AVAILABLE);
+    assertThat(result.get(MONDAY))
+        .extracting(Timeslot::startTime)
+        .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+  }
+
+  @Test
+  void compute_doesNotCombineAdjacentPartialWindows() {
+    ResourceWindow firstHalf = new ResourceWindow(0, null, null, 9 * 60, 9 * 60 + 15);
+    ResourceWindow secondHalf = new ResourceWindow(0, null, null, 9 * 60 + 15, 9 * 60 + 30);
+
+    Map<LocalDate, List<SlotCapacity>> result =
+        SlotGrid.computeCapacity(
+            snapshot(
+                30,
+                List.of(hours(0, 9, 10)),
+                List.of(firstHalf, secondHalf, availability(0, 9, 10, null, null)),
+                List.of(),
+                List.of()),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY)).extracting(SlotCapacity::capacity).containsExactly(1, 1);
+
+    result =
+        SlotGrid.computeCapacity(
+            snapshot(
+                30, List.of(hours(0, 9, 10)), List.of(firstHalf, secondHalf), List.of(), List.of()),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY)).extracting(SlotCapacity::capacity).containsExactly(0, 0);
+    assertThat(SlotGrid.toTimeslots(result).get(MONDAY))
+        .allMatch(slot -> slot.status() == AvailabilityStatus.FULLY_BOOKED);
+  }
+
+  @Test
+  void computeCapacity_countsOverlapsPerSlot() {
+    Map<LocalDate, List<SlotCapacity>> result =
+        SlotGrid.computeCapacity(
+            snapshot(
+                30,
+                List.of(hours(0, 9, 10)),
+                List.of(availability(0, 9, 10, null, null), availability(0, 9, 10, null, null)),
+                List.of(new Interval(MONDAY, 9 * 60 + 15, 9 * 60 + 45)),
+                List.of(new Interval(MONDAY, Interval.WHOLE_DAY, 9 * 60 + 30))),
+            MONDAY,
+            MONDAY);
+
+    assertThat(result.get(MONDAY))
+        .containsExactly(
+            new SlotCapacity(LocalTime.of(9, 0), LocalTime.of(9, 30), 2, 1, 1),
+            new SlotCapacity(LocalTime.of(9, 30), LocalTime.of(10, 0), 2, 1, 0));
+  }
+
+  private static AvailabilitySnapshot snapshot(
+      int timeslotLength,
+      List<OpeningHours> openingHours,
+      List<ResourceWindow> availabilities,
+      List<Interval> bookings,
+      List<Interval> unavailabilities) {
+    return new AvailabilitySnapshot(
+        timeslotLength, openingHours, availabilities, bookings, unavailabilities);
+  }
+
+  private static OpeningHours hours(int dayOfWeek, int open, int close) {
+    return new OpeningHours(dayOfWeek, open * 60, close * 60);
+  }
+
+  private static ResourceWindow availability(
+      int dayOfWeek, int start, int end, LocalDate startDate, LocalDate endDate) {
+    return new ResourceWindow(dayOfWeek, startDate, endDate, start * 60, end * 60);
+  }
+
+  private static Interval interval(LocalDate date, int start, int end) {
+    return new Interval(date, start * 60, end * 60);
+  }
+}
@@ -0,0 +1,112 @@
+package branchmaster.service.booking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class BookingBatcherTest {
+
+  @Test
+  void submit_groupsConcurrentCallsForABranch_andReturnsEachCallersResult() throws Exception {
+    BookingBatcher batcher = new BookingBatcher(true, Duration.ofSeconds(10), 5);
+    List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+    Function<List<Integer>, List<Integer>> flush =
+        items -> {
+          flushed.add(List.copyOf(items));
+          return items.stream().map(item -> item * 10).toList();
+        };
+
+    List<Future<Integer>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 1; i <= 5; i++) {
+        int item = i;
+        futures.add(executor.submit(() -> batcher.submit(1L, item, flush)));
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo((i + 1) * 10);
+      }
+    }
+
+    assertThat(flushed).hasSize(1);
+    assertThat(flushed.getFirst()).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+  }
+
+  @Test
+  void submit_flushesPartialBatch_whenWindowElapses() {
+    BookingBatcher batcher = new BookingBatcher(true, Duration.ofMillis(10), 50);
+
+    Integer result = batcher.submit(1L, "a", items -> List.of(items.size()));
+
+    assertThat(result).isEqualTo(1);
+  }
+
+  @Test
+  void submit_retriesAFailedBatchOneAtATime_soOnlyTheFailingCallerSeesTheError() throws Exception {
+    BookingBatcher batcher = new BookingBatcher(true, Duration.ofSeconds(10), 3);
+    List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+    Function<List<Integer>, List<Integer>> flush =
+        items -> {
+          flushed.add(List.copyOf(items));
+          if (items.contains(2)) {
+            throw new IllegalStateException("no partition for item 2");
+          }
+          return items.stream().map(item -> item * 10).toList();
+        };
+
+    List<Future<Integer>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 1; i <= 3; i++) {
+        int item = i;
+        futures.add(executor.submit(() -> batcher.submit(1L, item, flush)));
+      }
+
+      assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(10);
+      assertThatThrownBy(() -> futures.get(1).get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("no partition for item 2");
+      assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).isEqualTo(30);
+    }
+
+    assertThat(flushed).hasSize(4);
+    assertThat(flushed.subList(1, 4)).containsExactlyInAnyOrder(List.of(1), List.of(2), List.of(3));
+  }
+
+  @Test
+  void submit_batchesBranchesIndependently() {
+    BookingBatcher batcher = new BookingBatcher(true, Duration.ofSeconds(10), 1);
+
+    Function<List<String>, List<String>> echo = items -> List.of(items.getFirst());
+
+    String first = batcher.submit(1L, "a", echo);
+    String second = batcher.submit(2L, "b", echo);
+
+    assertThat(first).isEqualTo("a");
+    assertThat(second).isEqualTo("b");
+  }
+
+  @Test
+  void submit_failsTheCaller_whenFlushThrows() {
+    BookingBatcher batcher = new BookingBatcher(true, Duration.ofMillis(10), 1);
+
+    assertThatThrownBy(
+            () ->
+                batcher.submit(
+                    1L,
+                    "a",
+                    items -> {
+                      throw new IllegalStateException("DB down");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("DB down");
+  }
+}
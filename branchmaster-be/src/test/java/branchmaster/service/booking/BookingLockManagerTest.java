@@ -0,0 +1,111 @@
+package branchmaster.service.booking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BookingLockManagerTest {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 1, 12);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void withLock_serialisesCallsForTheSameBranchDay() throws Exception {
+    BookingLockManager manager = new BookingLockManager(registry, true, 8, Duration.ofSeconds(5));
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger maxInside = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        futures.add(
+            executor.submit(
+                () ->
+                    manager.withLock(
+                        1L,
+                        DATE,
+                        () -> {
+                          maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                          sleep(2);
+                          return inside.decrementAndGet();
+                        })));
+      }
+      for (Future<Integer> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    }
+
+    assertThat(maxInside.get()).isEqualTo(1);
+    assertThat(waits("acquired").count()).isEqualTo(20);
+    assertThat(waits("timed_out").count()).isZero();
+    assertThat(manager.waiting()).isZero();
+  }
+
+  @Test
+  void withLock_proceedsUnlocked_whenTimeoutExpires() throws Exception {
+    BookingLockManager manager = new BookingLockManager(registry, true, 1, Duration.ofMillis(20));
+    CountDownLatch holding = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      executor.submit(
+          () ->
+              manager.withLock(
+                  1L,
+                  DATE,
+                  () -> {
+                    holding.countDown();
+                    await(release);
+                    return null;
+                  }));
+      holding.await();
+
+      assertThat(manager.withLock(2L, DATE, () -> "done")).isEqualTo("done");
+      release.countDown();
+    }
+
+    assertThat(waits("timed_out").count()).isEqualTo(1);
+    assertThat(waits("timed_out").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+  }
+
+  @Test
+  void withLock_runsDirectly_whenDisabled() {
+    BookingLockManager manager = new BookingLockManager(registry, false, 8, Duration.ofSeconds(1));
+
+    assertThat(manager.withLock(1L, DATE, () -> 42)).isEqualTo(42);
+    assertThat(waits("acquired").count()).isZero();
+  }
+
+  private Timer waits(String outcome) {
+    return registry.get("branchmaster.booking.lock.wait").tag("outcome", outcome).timer();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
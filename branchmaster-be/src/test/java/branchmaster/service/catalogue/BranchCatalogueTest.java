@@ -0,0 +1,101 @@
+package branchmaster.service.catalogue;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.service.BranchService;
+import branchmaster.service.model.BranchDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BranchCatalogueTest {
+
+  @Mock BranchService branchService;
+
+  BranchCatalogue catalogue;
+
+  @BeforeEach
+  void setUp() {
+    catalogue = new BranchCatalogue(branchService, new ObjectMapper());
+  }
+
+  @Test
+  void current_buildsBothViews_plainAndGzipped_once() throws Exception {
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Branch 1")));
+
+    BranchCatalogue.Snapshot snapshot = catalogue.current();
+
+    assertThat(json(snapshot.minimal()))
+        .startsWith("[{\"branchId\":10,\"name\":\"Branch 1\",\"friendlyAddress\":")
+        .doesNotContain("latitude");
+    assertThat(json(snapshot.full())).contains("\"branchId\":10", "\"latitude\"");
+    assertThat(snapshot.branchIds()).containsExactly(10L);
+    assertThat(new GZIPInputStream(new ByteArrayInputStream(snapshot.full().gzip())).readAllBytes())
+        .isEqualTo(snapshot.full().json());
+    assertThat(snapshot.version()).matches("[0-9a-f]{16}");
+
+    assertThat(catalogue.current()).isSameAs(snapshot);
+    verify(branchService, times(1)).getAllOpenBranches();
+  }
+
+  @Test
+  void onBranchCatalogueChanged_keepsVersion_whenContentIsUnchanged_andBumpsItOtherwise() {
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Branch 1")));
+    BranchCatalogue.Snapshot initial = catalogue.current();
+
+    catalogue.onBranchCatalogueChanged(new BranchCatalogueChangedEvent(10L));
+    assertThat(catalogue.current()).isSameAs(initial);
+
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Renamed")));
+    catalogue.onBranchCatalogueChanged(new BranchCatalogueChangedEvent(10L));
+
+    BranchCatalogue.Snapshot changed = catalogue.current();
+    assertThat(changed.version()).isNotEqualTo(initial.version());
+    assertThat(changed.lastModified()).isAfterOrEqualTo(initial.lastModified());
+    assertThat(json(changed.minimal())).contains("Renamed");
+    assertThat(changed.full().etag(true)).isEqualTo("\"full-" + changed.version() + "-gz\"");
+  }
+
+  @Test
+  void version_isDerivedFromContent_soEveryInstanceTagsTheSameContentAlike() {
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Branch 1")));
+    String version = catalogue.current().version();
+
+    BranchCatalogue otherNode = new BranchCatalogue(branchService, new ObjectMapper());
+    assertThat(otherNode.current().version()).isEqualTo(version);
+
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Renamed")));
+    catalogue.refresh();
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Branch 1")));
+    catalogue.refresh();
+    assertThat(catalogue.current().version()).isEqualTo(version);
+  }
+
+  @Test
+  void refreshQuietly_keepsPreviousSnapshot_whenRebuildFails() {
+    when(branchService.getAllOpenBranches()).thenReturn(List.of(branch("Branch 1")));
+    BranchCatalogue.Snapshot initial = catalogue.current();
+
+    when(branchService.getAllOpenBranches()).thenThrow(new RuntimeException("DB down"));
+    catalogue.refreshQuietly();
+
+    assertThat(catalogue.current()).isSameAs(initial);
+  }
+
+  private static BranchDto branch(String name) {
+    return BranchDto.builder().id(10L).name(name).address("12 Long Street").city("City").build();
+  }
+
+  private static String json(BranchCatalogue.View view) {
+    return new String(view.json(), StandardCharsets.UTF_8);
+  }
+}
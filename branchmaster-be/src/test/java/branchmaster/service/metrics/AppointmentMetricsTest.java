@@ -0,0 +1,90 @@
+package branchmaster.service.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import branchmaster.service.catalogue.BranchCatalogue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AppointmentMetricsTest {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 1, 12);
+
+  private final BranchCatalogue branchCatalogue = mock(BranchCatalogue.class);
+
+  @Test
+  void recordAvailability_tagsBranchRangeAndCache() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    when(branchCatalogue.current()).thenReturn(catalogue(Set.of(1L)));
+    AppointmentMetrics metrics = new AppointmentMetrics(registry, branchCatalogue, true);
+
+    metrics.recordAvailability(1L, DATE, DATE.plusDays(6), "partial", 40, 5_000_000);
+
+    assertThat(
+            registry
+                .get("branchmaster.availability.lookup")
+                .tags("branch", "1", "range", "2-7d", "cache", "partial")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(5.0);
+    assertThat(registry.get("branchmaster.availability.slots.built").summary().totalAmount())
+        .isEqualTo(40.0);
+  }
+
+  @Test
+  void recordBooking_tagsUnknownBranchesAsOther() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    when(branchCatalogue.current()).thenReturn(catalogue(Set.of(1L)));
+    AppointmentMetrics metrics = new AppointmentMetrics(registry, branchCatalogue, true);
+
+    for (long branchId = 2; branchId < 50; branchId++) {
+      metrics.recordBooking(branchId, "conflict", 1_000);
+    }
+    metrics.recordBooking(1L, "booked", 1_000);
+
+    assertThat(registry.find("branchmaster.booking.create").timers())
+        .extracting(timer -> timer.getId().getTag("branch"))
+        .containsExactlyInAnyOrder("1", AppointmentMetrics.OTHER_BRANCH);
+  }
+
+  @Test
+  void recordBooking_tagsOther_whenCatalogueUnavailable() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    when(branchCatalogue.current()).thenThrow(new RuntimeException("DB down"));
+    AppointmentMetrics metrics = new AppointmentMetrics(registry, branchCatalogue, true);
+
+    metrics.recordBooking(1L, "error", 1_000);
+
+    assertThat(registry.get("branchmaster.booking.create").tag("branch", "other").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void recordBooking_omitsBranchTag_whenDisabled() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AppointmentMetrics metrics = new AppointmentMetrics(registry, branchCatalogue, false);
+
+    metrics.recordBooking(1L, "booked", 1_000);
+
+    assertThat(registry.get("branchmaster.booking.create").timer().getId().getTags())
+        .extracting(tag -> tag.getKey())
+        .containsExactly("outcome");
+  }
+
+  private static BranchCatalogue.Snapshot catalogue(Set<Long> branchIds) {
+    return new BranchCatalogue.Snapshot("1", Instant.EPOCH, null, null, branchIds);
+  }
+
+  @Test
+  void rangeBucket_boundsTagValues() {
+    assertThat(AppointmentMetrics.rangeBucket(DATE, DATE)).isEqualTo("1d");
+    assertThat(AppointmentMetrics.rangeBucket(DATE, DATE.plusDays(30))).isEqualTo("8-31d");
+    assertThat(AppointmentMetrics.rangeBucket(DATE, DATE.plusDays(89))).isEqualTo("32-90d");
+    assertThat(AppointmentMetrics.rangeBucket(DATE, DATE.plusDays(179))).isEqualTo("91d+");
+  }
+}
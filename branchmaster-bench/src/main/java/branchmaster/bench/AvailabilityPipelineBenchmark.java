@@ -0,0 +1,162 @@
+package branchmaster.bench;
+
+import branchmaster.repository.SlotCapacityRepository;
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.AppointmentService;
+import branchmaster.service.availability.AvailabilityCache;
+import branchmaster.service.availability.AvailabilityChangedEvent;
+import branchmaster.service.availability.BranchDataVersionService;
+import branchmaster.service.availability.SlotCapacityService;
+import branchmaster.service.metrics.AppointmentMetrics;
+import branchmaster.service.model.Timeslot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AppointmentService#getAvailableAppointments} end to end with in-memory repositories, so
+ * the cache, the slot_capacity read path and the timeslot mapping are measured without a database.
+ * {@code cold} drops the cache and the built capacity before every call and so includes the grid
+ * computation; {@code warm} answers from the availability cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AvailabilityPipelineBenchmark {
+
+  private static final Long BRANCH_ID = 1L;
+
+  @Param({"15", "30"})
+  int timeslotLength;
+
+  @Param({"1", "7", "30", "90", "180"})
+  int rangeDays;
+
+  @Param({"10"})
+  int resources;
+
+  @Param({"0.5"})
+  double bookingDensity;
+
+  @Param({"0.05"})
+  double unavailabilityDensity;
+
+  private InMemorySlotCapacityRepository slotCapacityRepository;
+  private AvailabilityCache availabilityCache;
+  private AppointmentService appointmentService;
+  private LocalDate startDate;
+  private LocalDate endDate;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AvailabilitySnapshot snapshot =
+        SnapshotFixture.generate(
+            timeslotLength, rangeDays, resources, bookingDensity, unavailabilityDensity);
+    startDate = SnapshotFixture.START_DATE;
+    endDate = startDate.plusDays(rangeDays - 1L);
+
+    slotCapacityRepository = new InMemorySlotCapacityRepository();
+    availabilityCache = new AvailabilityCache(10_000);
+    SlotCapacityService slotCapacityService =
+        new SlotCapacityService(
+            slotCapacityRepository, (branchId, from, to) -> Optional.of(snapshot), rangeDays + 7);
+    appointmentService =
+        new AppointmentService(
+            null,
+            null,
+            slotCapacityService,
+            availabilityCache,
+            event -> {},
+            null,
+            null,
+            null,
+            null,
+            new AppointmentMetrics(new SimpleMeterRegistry(), null, false),
+            null,
+            new BranchDataVersionService(null) {
+              @Override
+              public long current(Long branchId) {
+                return 0L;
+              }
+            });
+
+    appointmentService.getAvailableAppointments(BRANCH_ID, startDate, endDate);
+  }
+
+  @Benchmark
+  public Map<LocalDate, List<Timeslot>> cold() {
+    slotCapacityRepository.deleteBranch(BRANCH_ID);
+    availabilityCache.onAvailabilityChanged(AvailabilityChangedEvent.forBranch(BRANCH_ID));
+    return appointmentService.getAvailableAppointments(BRANCH_ID, startDate, endDate);
+  }
+
+  @Benchmark
+  public Map<LocalDate, List<Timeslot>> warm() {
+    return appointmentService.getAvailableAppointments(BRANCH_ID, startDate, endDate);
+  }
+
+  /** A single-branch stand-in for the slot_capacity tables; locks are no-ops single threaded. */
+  static class InMemorySlotCapacityRepository extends SlotCapacityRepository {
+
+    private final TreeMap<LocalDate, List<SlotCapacity>> days = new TreeMap<>();
+
+    InMemorySlotCapacityRepository() {
+      super(null);
+    }
+
+    @Override
+    public void lockShared(Long branchId) {}
+
+    @Override
+    public void lockExclusive(Long branchId) {}
+
+    @Override
+    public Map<LocalDate, List<SlotCapacity>> findBuilt(
+        Long branchId, LocalDate startDate, LocalDate endDate) {
+      Map<LocalDate, List<SlotCapacity>> result = new LinkedHashMap<>();
+      days.subMap(startDate, true, endDate, true)
+          .forEach((date, slots) -> result.put(date, new ArrayList<>(slots)));
+      return result;
+    }
+
+    @Override
+    public void replace(
+        Long branchId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Map<LocalDate, List<SlotCapacity>> capacity) {
+      for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+        days.put(date, capacity.getOrDefault(date, List.of()));
+      }
+    }
+
+    @Override
+    public int deleteBranch(Long branchId) {
+      int deleted = days.size();
+      days.clear();
+      return deleted;
+    }
+  }
+}
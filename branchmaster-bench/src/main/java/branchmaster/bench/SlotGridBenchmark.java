@@ -0,0 +1,74 @@
+package branchmaster.bench;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.SlotCapacity;
+import branchmaster.service.availability.SlotGrid;
+import branchmaster.service.model.Timeslot;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The pure slot computation, without loading or caching. {@code computeCapacity} is what a
+ * slot_capacity rebuild runs; {@code compute} adds the mapping to the timeslots the API returns.
+ * The full parameter matrix is large; narrow it with {@code -p}, e.g. {@code -p rangeDays=180}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SlotGridBenchmark {
+
+  @Param({"15", "30", "60"})
+  int timeslotLength;
+
+  @Param({"1", "7", "30", "90", "180"})
+  int rangeDays;
+
+  @Param({"1", "10"})
+  int resources;
+
+  @Param({"0.2", "0.8"})
+  double bookingDensity;
+
+  @Param({"0.0", "0.1"})
+  double unavailabilityDensity;
+
+  private AvailabilitySnapshot snapshot;
+  private LocalDate startDate;
+  private LocalDate endDate;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    snapshot =
+        SnapshotFixture.generate(
+            timeslotLength, rangeDays, resources, bookingDensity, unavailabilityDensity);
+    startDate = SnapshotFixture.START_DATE;
+    endDate = startDate.plusDays(rangeDays - 1L);
+  }
+
+  @Benchmark
+  public Map<LocalDate, List<SlotCapacity>> computeCapacity() {
+    return SlotGrid.computeCapacity(snapshot, startDate, endDate);
+  }
+
+  @Benchmark
+  public Map<LocalDate, List<Timeslot>> compute() {
+    return SlotGrid.compute(snapshot, startDate, endDate);
+  }
+}
@@ -0,0 +1,96 @@
+package branchmaster.bench;
+
+import branchmaster.repository.model.AvailabilitySnapshot;
+import branchmaster.repository.model.AvailabilitySnapshot.Interval;
+import branchmaster.repository.model.AvailabilitySnapshot.OpeningHours;
+import branchmaster.repository.model.AvailabilitySnapshot.ResourceWindow;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic branch data for the benchmarks. The branch opens 08:00-18:00 on weekdays and 09:00-13:00
+ * on Saturdays; every resource works the full opening hours, and every fourth resource only joins
+ * halfway through the range so the per-date window path is exercised too. Densities are fractions
+ * of the resource-slots (bookings) and resource-days (unavailabilities) in the range. A fixed seed
+ * keeps runs comparable, and the range starts on the coming Monday so it lies inside the stored
+ * slot capacity horizon.
+ */
+public final class SnapshotFixture {
+
+  public static final LocalDate START_DATE =
+      LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+  private static final long SEED = 20260105L;
+
+  private SnapshotFixture() {}
+
+  public static AvailabilitySnapshot generate(
+      int timeslotLength,
+      int rangeDays,
+      int resources,
+      double bookingDensity,
+      double unavailabilityDensity) {
+    List<OpeningHours> openingHours = new ArrayList<>();
+    for (int dayOfWeek = 0; dayOfWeek < 5; dayOfWeek++) {
+      openingHours.add(new OpeningHours(dayOfWeek, 8 * 60, 18 * 60));
+    }
+    openingHours.add(new OpeningHours(5, 9 * 60, 13 * 60));
+
+    LocalDate endDate = START_DATE.plusDays(rangeDays - 1L);
+    LocalDate halfway = START_DATE.plusDays(rangeDays / 2);
+
+    List<ResourceWindow> availabilities = new ArrayList<>();
+    for (int resource = 0; resource < resources; resource++) {
+      LocalDate from = resource % 4 == 3 ? halfway : null;
+      for (OpeningHours hours : openingHours) {
+        availabilities.add(
+            new ResourceWindow(
+                hours.dayOfWeek(), from, null, hours.openingMinute(), hours.closingMinute()));
+      }
+    }
+
+    SplittableRandom random = new SplittableRandom(SEED);
+    List<Interval> bookings = new ArrayList<>();
+    List<Interval> unavailabilities = new ArrayList<>();
+    for (LocalDate date = START_DATE; !date.isAfter(endDate); date = date.plusDays(1)) {
+      OpeningHours hours = hoursOn(openingHours, date);
+      if (hours == null) {
+        continue;
+      }
+      int slots = (hours.closingMinute() - hours.openingMinute()) / timeslotLength;
+
+      for (int resourceSlot = 0; resourceSlot < slots * resources; resourceSlot++) {
+        if (random.nextDouble() < bookingDensity) {
+          int start = hours.openingMinute() + (resourceSlot % slots) * timeslotLength;
+          bookings.add(new Interval(date, start, start + timeslotLength));
+        }
+      }
+
+      for (int resource = 0; resource < resources; resource++) {
+        if (random.nextDouble() < unavailabilityDensity) {
+          unavailabilities.add(
+              random.nextBoolean()
+                  ? new Interval(date, Interval.WHOLE_DAY, Interval.WHOLE_DAY)
+                  : new Interval(date, hours.openingMinute() + 60, hours.openingMinute() + 180));
+        }
+      }
+    }
+
+    return new AvailabilitySnapshot(
+        timeslotLength, openingHours, availabilities, bookings, unavailabilities);
+  }
+
+  private static OpeningHours hoursOn(List<OpeningHours> openingHours, LocalDate date) {
+    int dayOfWeek = date.getDayOfWeek().getValue() - 1;
+    for (OpeningHours hours : openingHours) {
+      if (hours.dayOfWeek() == dayOfWeek) {
+        return hours;
+      }
+    }
+    return null;
+  }
+}